@@ -0,0 +1,86 @@
+package org.example;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.library.GeneralCodingRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.fields;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.methods;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.noClasses;
+import static com.tngtech.archunit.library.dependencies.SlicesRuleDefinition.slices;
+
+/**
+ * Evaluation time of single rules of the architecture suite against a synthetic corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleBenchmark {
+
+    private static final Map<String, Supplier<ArchRule>> RULES = Map.of(
+            "haveBothHashCodeAndEqualsPresent", () -> classes().should(CleanCodeConditions.haveBothHashCodeAndEqualsPresent()),
+            "notDeclareThrowingRuntimeException", () -> methods().should(CleanCodeConditions.notDeclareThrowingRuntimeException()),
+            "haveOnlyStaticMethods", () -> classes().that(CleanCodeConditions.haveOnlyStaticMethods())
+                    .should().haveOnlyPrivateConstructors(),
+            "haveParametrisedConstructors", () -> fields().that()
+                    .areDeclaredInClassesThat(CleanCodeConditions.haveParametrisedConstructors()).should().beFinal(),
+            "classesShouldBeHermetic", () -> fields().that().areDeclaredInClassesThat().areNotInterfaces()
+                    .and().areDeclaredInClassesThat().areNotEnums()
+                    .and().areNotFinal().and().areNotStatic()
+                    .should().notBePublic(),
+            "controllersShouldNotDependOnRepositories", () -> noClasses().that().resideInAPackage("..controller..")
+                    .should().dependOnClassesThat().resideInAPackage("..repository.."),
+            "writingToConsoleShouldNotBeUsed", () -> GeneralCodingRules.NO_CLASSES_SHOULD_ACCESS_STANDARD_STREAMS,
+            "packagesShouldBeFreeOfCycles", () -> slices().matching(SyntheticCorpus.ROOT_PACKAGE + ".(**)")
+                    .should().beFreeOfCycles());
+
+    @Param({"1000", "10000", "50000"})
+    int corpusSize;
+
+    @Param({"haveBothHashCodeAndEqualsPresent", "notDeclareThrowingRuntimeException", "haveOnlyStaticMethods",
+            "haveParametrisedConstructors", "classesShouldBeHermetic", "controllersShouldNotDependOnRepositories",
+            "writingToConsoleShouldNotBeUsed", "packagesShouldBeFreeOfCycles"})
+    String rule;
+
+    private JavaClasses javaClasses;
+    private ArchRule archRule;
+
+    @Setup
+    public void importCorpus() {
+        javaClasses = new ClassFileImporter().importPath(SyntheticCorpus.classesDirectory(corpusSize));
+        ClassMembers.index(javaClasses);
+        archRule = RULES.get(rule).get();
+    }
+
+    @TearDown
+    public void forgetCorpus() {
+        ClassMembers.forget(javaClasses);
+    }
+
+    @Benchmark
+    public EvaluationResult evaluateRule() {
+        return archRule.evaluate(javaClasses);
+    }
+}
@@ -0,0 +1,114 @@
+package org.example;
+
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates and compiles a corpus of classes shaped like the application: controllers calling services,
+ * services calling repositories, repositories returning entities and static configuration holders.
+ * Compiled corpora are kept under {@code target/jmh-corpus} and reused by later benchmark runs.
+ */
+final class SyntheticCorpus {
+
+    static final String ROOT_PACKAGE = "bench.corpus";
+
+    private static final String[] LAYERS = {"controller", "service", "repository", "model", "config"};
+    private static final int COMPILATION_BATCH_SIZE = 5_000;
+
+    private SyntheticCorpus() {
+    }
+
+    static Path classesDirectory(int size) {
+        var corpusDirectory = Paths.get("target", "jmh-corpus", String.valueOf(size));
+        var classesDirectory = corpusDirectory.resolve("classes");
+        if (Files.isDirectory(classesDirectory)) {
+            return classesDirectory;
+        }
+        try {
+            var sources = writeSources(corpusDirectory.resolve("sources"), size);
+            Files.createDirectories(classesDirectory);
+            for (int from = 0; from < sources.size(); from += COMPILATION_BATCH_SIZE) {
+                compile(sources.subList(from, Math.min(from + COMPILATION_BATCH_SIZE, sources.size())),
+                        corpusDirectory.resolve("sources"), classesDirectory);
+            }
+            return classesDirectory;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot generate corpus of " + size + " classes", e);
+        }
+    }
+
+    private static List<String> writeSources(Path sourcesDirectory, int size) throws IOException {
+        var sources = new ArrayList<String>();
+        for (int i = 0; i < size; i++) {
+            var layer = LAYERS[i % LAYERS.length];
+            var group = i / LAYERS.length;
+            var packageDirectory = sourcesDirectory.resolve(ROOT_PACKAGE.replace('.', '/')).resolve(layer);
+            Files.createDirectories(packageDirectory);
+            var file = packageDirectory.resolve(className(layer, group) + ".java");
+            Files.writeString(file, source(layer, group));
+            sources.add(file.toString());
+        }
+        return sources;
+    }
+
+    private static void compile(List<String> sources, Path sourcePath, Path classesDirectory) {
+        var arguments = new ArrayList<>(List.of("-proc:none", "-nowarn",
+                "-sourcepath", sourcePath.toString(), "-d", classesDirectory.toString()));
+        arguments.addAll(sources);
+        var exitCode = ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(String[]::new));
+        if (exitCode != 0) {
+            throw new IllegalStateException("Compilation of synthetic corpus failed with exit code " + exitCode);
+        }
+    }
+
+    private static String className(String layer, int group) {
+        return Character.toUpperCase(layer.charAt(0)) + layer.substring(1) + group;
+    }
+
+    private static String source(String layer, int group) {
+        var header = "package " + ROOT_PACKAGE + "." + layer + ";\n\n";
+        switch (layer) {
+            case "controller":
+                return header + "public class Controller" + group + " {\n"
+                        + "    private final " + type("service", group) + " service = new " + type("service", group) + "();\n"
+                        + "    public Object get(long id) { return service.get(id); }\n"
+                        + "}\n";
+            case "service":
+                return header + "public class Service" + group + " {\n"
+                        + "    private final " + type("repository", group) + " repository = new " + type("repository", group) + "();\n"
+                        + "    public " + type("model", group) + " get(long id) { return repository.find(id); }\n"
+                        + "}\n";
+            case "repository":
+                return header + "public class Repository" + group + " {\n"
+                        + "    public " + type("model", group) + " find(long id) {\n"
+                        + "        if (id < 0) { throw new IllegalArgumentException(\"Negative id\"); }\n"
+                        + "        return new " + type("model", group) + "(id);\n"
+                        + "    }\n"
+                        + "}\n";
+            case "model":
+                return header + "public class Model" + group + " {\n"
+                        + "    private final long id;\n"
+                        + "    public Model" + group + "(long id) { this.id = id; }\n"
+                        + "    public long getId() { return id; }\n"
+                        + "    @Override public boolean equals(Object o) { return o instanceof Model" + group
+                        + " && ((Model" + group + ") o).id == id; }\n"
+                        + "    @Override public int hashCode() { return Long.hashCode(id); }\n"
+                        + "}\n";
+            default:
+                return header + "public final class Config" + group + " {\n"
+                        + "    private Config" + group + "() { }\n"
+                        + "    public static " + type("service", group) + " service() { return new " + type("service", group) + "(); }\n"
+                        + "}\n";
+        }
+    }
+
+    private static String type(String layer, int group) {
+        return ROOT_PACKAGE + "." + layer + "." + className(layer, group);
+    }
+}
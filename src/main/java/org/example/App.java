@@ -1,16 +1,28 @@
 package org.example;
 
+import org.example.startup.StartupRecorder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.nio.file.Paths;
 
 /**
- * Hello world!
+ * Starts the application context. Bean creation times are written to the file named by {@code -Dstartup.report}
+ * ({@code startup-report.txt} by default); {@code -Dstartup.lazy-initialization=true} defers non-critical beans.
  */
 public class App {
 
     private static final Logger log = LoggerFactory.getLogger(App.class);
 
     public static void main(String[] args) {
+        var startupRecorder = new StartupRecorder();
+        var context = new AnnotationConfigApplicationContext();
+        context.setApplicationStartup(startupRecorder);
+        context.scan(App.class.getPackageName());
+        context.refresh();
+        context.registerShutdownHook();
+        startupRecorder.report(Paths.get(System.getProperty("startup.report", "startup-report.txt")));
         log.info("It works!");
     }
 }
@@ -0,0 +1,50 @@
+package org.example.async;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+
+/**
+ * Hands the submitting thread's security context and MDC over to the thread running the task.
+ * The running thread's own context is restored afterwards, so pooled threads never keep a stale context
+ * and tasks run by the caller do not lose it.
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        var securityContext = SecurityContextHolder.getContext();
+        var mdc = MDC.getCopyOfContextMap();
+        return () -> {
+            var previousSecurityContext = SecurityContextHolder.getContext();
+            var previousMdc = MDC.getCopyOfContextMap();
+            SecurityContextHolder.setContext(securityContext);
+            setMdc(mdc);
+            try {
+                runnable.run();
+            } finally {
+                restoreSecurityContext(previousSecurityContext);
+                setMdc(previousMdc);
+            }
+        };
+    }
+
+    private void restoreSecurityContext(SecurityContext previous) {
+        if (previous.getAuthentication() == null) {
+            SecurityContextHolder.clearContext();
+        } else {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    private void setMdc(Map<String, String> mdc) {
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+    }
+}
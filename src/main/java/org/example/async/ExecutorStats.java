@@ -0,0 +1,70 @@
+package org.example.async;
+
+/**
+ * Point-in-time usage of a {@link MeteredExecutor}.
+ */
+public class ExecutorStats {
+
+    private final String name;
+    private final int activeThreads;
+    private final int poolSize;
+    private final int maximumPoolSize;
+    private final int queueDepth;
+    private final int queueRemainingCapacity;
+    private final long completedTasks;
+    private final long rejectedTasks;
+
+    ExecutorStats(String name, int activeThreads, int poolSize, int maximumPoolSize, int queueDepth,
+                  int queueRemainingCapacity, long completedTasks, long rejectedTasks) {
+        this.name = name;
+        this.activeThreads = activeThreads;
+        this.poolSize = poolSize;
+        this.maximumPoolSize = maximumPoolSize;
+        this.queueDepth = queueDepth;
+        this.queueRemainingCapacity = queueRemainingCapacity;
+        this.completedTasks = completedTasks;
+        this.rejectedTasks = rejectedTasks;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getQueueRemainingCapacity() {
+        return queueRemainingCapacity;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    /**
+     * @return tasks that found the executor saturated, including those then run by the caller
+     */
+    public long getRejectedTasks() {
+        return rejectedTasks;
+    }
+
+    @Override
+    public String toString() {
+        return name + "{active=" + activeThreads + "/" + maximumPoolSize + ", poolSize=" + poolSize
+                + ", queued=" + queueDepth + ", queueRemaining=" + queueRemainingCapacity
+                + ", completed=" + completedTasks + ", rejected=" + rejectedTasks + "}";
+    }
+}
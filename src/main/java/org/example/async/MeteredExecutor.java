@@ -0,0 +1,13 @@
+package org.example.async;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+
+/**
+ * Named executor with bounded concurrency that reports its usage.
+ */
+public interface MeteredExecutor extends AsyncTaskExecutor {
+
+    String getName();
+
+    ExecutorStats stats();
+}
@@ -0,0 +1,55 @@
+package org.example.async;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread pool with a bounded queue. Once {@code maxSize} threads are busy and {@code queueCapacity} tasks
+ * wait, new tasks are handled by the {@link RejectionPolicy}.
+ */
+public class PooledExecutor extends ThreadPoolTaskExecutor implements MeteredExecutor {
+
+    private static final int AWAIT_TERMINATION_SECONDS = 30;
+
+    private final String name;
+    private final LongAdder rejectedTasks = new LongAdder();
+
+    public PooledExecutor(String name, int coreSize, int maxSize, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        this.name = name;
+        setBeanName(name);
+        setThreadNamePrefix(name + "-");
+        setCorePoolSize(coreSize);
+        setMaxPoolSize(maxSize);
+        setQueueCapacity(queueCapacity);
+        setRejectedExecutionHandler(countingHandler(rejectionPolicy == RejectionPolicy.CALLER_RUNS
+                ? new ThreadPoolExecutor.CallerRunsPolicy()
+                : new ThreadPoolExecutor.AbortPolicy()));
+        setTaskDecorator(new ContextPropagatingTaskDecorator());
+        setWaitForTasksToCompleteOnShutdown(true);
+        setAwaitTerminationSeconds(AWAIT_TERMINATION_SECONDS);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public ExecutorStats stats() {
+        var executor = getThreadPoolExecutor();
+        var queue = executor.getQueue();
+        return new ExecutorStats(name, executor.getActiveCount(), executor.getPoolSize(),
+                executor.getMaximumPoolSize(), queue.size(), queue.remainingCapacity(),
+                executor.getCompletedTaskCount(), rejectedTasks.sum());
+    }
+
+    private RejectedExecutionHandler countingHandler(RejectedExecutionHandler handler) {
+        return (runnable, executor) -> {
+            rejectedTasks.increment();
+            handler.rejectedExecution(runnable, executor);
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.async;
+
+/**
+ * What an executor does with a task once all threads are busy and its queue is full.
+ */
+public enum RejectionPolicy {
+
+    /**
+     * Runs the task on the submitting thread, which slows the submitter down to the executor's pace.
+     */
+    CALLER_RUNS,
+
+    /**
+     * Fails the submission with {@link org.springframework.core.task.TaskRejectedException}.
+     */
+    ABORT
+}
@@ -0,0 +1,143 @@
+package org.example.async;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs every task on a new virtual thread, with at most {@code maxConcurrency} tasks in flight.
+ * Virtual threads are looked up reflectively, so the code compiles for older JDKs;
+ * check {@link #isSupported()} before creating one.
+ */
+public class VirtualThreadExecutor implements MeteredExecutor, DisposableBean {
+
+    private static final long AWAIT_TERMINATION_SECONDS = 30;
+
+    private final String name;
+    private final ThreadFactory threadFactory;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final RejectionPolicy rejectionPolicy;
+    private final TaskDecorator taskDecorator = new ContextPropagatingTaskDecorator();
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder rejectedTasks = new LongAdder();
+    private volatile boolean shutdown;
+
+    public VirtualThreadExecutor(String name, int maxConcurrency, RejectionPolicy rejectionPolicy) {
+        this(name, maxConcurrency, rejectionPolicy, virtualThreadFactory(name + "-"));
+    }
+
+    VirtualThreadExecutor(String name, int maxConcurrency, RejectionPolicy rejectionPolicy,
+                          ThreadFactory threadFactory) {
+        this.name = name;
+        this.threadFactory = threadFactory;
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    /**
+     * Creates an unstarted virtual thread, because {@code Thread.ofVirtual} also exists on JDK 19 and 20
+     * where it fails unless preview features are enabled.
+     */
+    public static boolean isSupported() {
+        try {
+            virtualThreadFactory("virtual-thread-probe-").newThread(() -> {
+            });
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (shutdown) {
+            throw new TaskRejectedException("Executor " + name + " is shut down");
+        }
+        var decorated = taskDecorator.decorate(task);
+        if (!permits.tryAcquire()) {
+            rejectedTasks.increment();
+            if (rejectionPolicy == RejectionPolicy.CALLER_RUNS) {
+                decorated.run();
+                return;
+            }
+            throw new TaskRejectedException("Executor " + name + " has " + maxConcurrency + " tasks in flight");
+        }
+        try {
+            threadFactory.newThread(() -> {
+                try {
+                    decorated.run();
+                } finally {
+                    permits.release();
+                    completedTasks.increment();
+                }
+            }).start();
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    @Deprecated
+    public void execute(Runnable task, long startTimeout) {
+        execute(task);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        var future = new FutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        var future = new FutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public ExecutorStats stats() {
+        int active = maxConcurrency - permits.availablePermits();
+        return new ExecutorStats(name, active, active, maxConcurrency, 0, 0,
+                completedTasks.sum(), rejectedTasks.sum());
+    }
+
+    /**
+     * Stops accepting tasks and waits up to {@value #AWAIT_TERMINATION_SECONDS} seconds for tasks in flight.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        shutdown = true;
+        if (permits.tryAcquire(maxConcurrency, AWAIT_TERMINATION_SECONDS, TimeUnit.SECONDS)) {
+            permits.release(maxConcurrency);
+        }
+    }
+
+    private static ThreadFactory virtualThreadFactory(String namePrefix) {
+        try {
+            var builderType = Class.forName("java.lang.Thread$Builder");
+            var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are not supported by this JVM", e);
+        }
+    }
+}
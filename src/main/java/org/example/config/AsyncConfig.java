@@ -0,0 +1,58 @@
+package org.example.config;
+
+import org.example.async.MeteredExecutor;
+import org.example.async.PooledExecutor;
+import org.example.async.RejectionPolicy;
+import org.example.async.VirtualThreadExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Executors behind {@code @Async} methods. {@code taskExecutor} is the default one; blocking work should name
+ * {@code ioExecutor} in {@code @Async("ioExecutor")} so it cannot starve the default pool.
+ * With {@code async.virtual-threads=true} on a JDK supporting them, both run tasks on virtual threads limited
+ * to {@code max-size} tasks in flight.
+ */
+@Configuration
+@EnableAsync
+class AsyncConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
+
+    private final boolean virtualThreads;
+
+    AsyncConfig(@Value("${async.virtual-threads:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Bean
+    MeteredExecutor taskExecutor(@Value("${async.default.core-size:8}") int coreSize,
+                                 @Value("${async.default.max-size:16}") int maxSize,
+                                 @Value("${async.default.queue-capacity:500}") int queueCapacity,
+                                 @Value("${async.default.rejection-policy:CALLER_RUNS}") RejectionPolicy rejectionPolicy) {
+        return executor("async-default", coreSize, maxSize, queueCapacity, rejectionPolicy);
+    }
+
+    @Bean
+    MeteredExecutor ioExecutor(@Value("${async.io.core-size:16}") int coreSize,
+                               @Value("${async.io.max-size:64}") int maxSize,
+                               @Value("${async.io.queue-capacity:1000}") int queueCapacity,
+                               @Value("${async.io.rejection-policy:ABORT}") RejectionPolicy rejectionPolicy) {
+        return executor("async-io", coreSize, maxSize, queueCapacity, rejectionPolicy);
+    }
+
+    private MeteredExecutor executor(String name, int coreSize, int maxSize, int queueCapacity,
+                                     RejectionPolicy rejectionPolicy) {
+        if (virtualThreads) {
+            if (VirtualThreadExecutor.isSupported()) {
+                return new VirtualThreadExecutor(name, maxSize, rejectionPolicy);
+            }
+            log.warn("Virtual threads are not supported by this JVM, {} falls back to a thread pool", name);
+        }
+        return new PooledExecutor(name, coreSize, maxSize, queueCapacity, rejectionPolicy);
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.datasource.MeteredDataSource;
+import org.example.datasource.ReplicaSelection;
+import org.example.datasource.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+
+/**
+ * Primary database plus optional read replicas listed in {@code datasource.replica.urls}, each behind its own
+ * connection pool of at most {@code datasource.pool.maximum-size} connections. Without
+ * {@code datasource.primary.url} the primary is an in-memory H2 database, so the application starts without
+ * any setup.
+ * {@code @Transactional(readOnly = true)} methods read from a replica, all other work goes to the primary.
+ */
+@Configuration
+@EnableTransactionManagement
+class DataSourceConfig {
+
+    private static final String EMBEDDED_URL = "jdbc:h2:mem:app;DB_CLOSE_DELAY=-1";
+
+    @Bean(destroyMethod = "close")
+    RoutingDataSource routingDataSource(@Value("${datasource.primary.url:" + EMBEDDED_URL + "}") String primaryUrl,
+                                        @Value("${datasource.replica.urls:}") String[] replicaUrls,
+                                        @Value("${datasource.username:}") String username,
+                                        @Value("${datasource.password:}") String password,
+                                        @Value("${datasource.pool.maximum-size:10}") int maximumPoolSize,
+                                        @Value("${datasource.replica.selection:ROUND_ROBIN}") ReplicaSelection replicaSelection,
+                                        @Value("${datasource.read-your-writes-millis:1000}") long readYourWritesWindow) {
+        var primary = pooled("primary", primaryUrl, username, password, maximumPoolSize);
+        var replicas = new ArrayList<MeteredDataSource>(replicaUrls.length);
+        for (int i = 0; i < replicaUrls.length; i++) {
+            replicas.add(pooled("replica-" + (i + 1), replicaUrls[i].trim(), username, password, maximumPoolSize));
+        }
+        return new RoutingDataSource(primary, replicas, replicaSelection, Duration.ofMillis(readYourWritesWindow));
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(RoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        var transactionManager = new JpaTransactionManager(entityManagerFactory);
+        transactionManager.setDataSource(dataSource);
+        transactionManager.setJpaDialect(new HibernateJpaDialect());
+        return transactionManager;
+    }
+
+    private static MeteredDataSource pooled(String name, String url, String username, String password,
+                                            int maximumPoolSize) {
+        var pool = new HikariConfig();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setMaximumPoolSize(maximumPoolSize);
+        return new MeteredDataSource(name, new HikariDataSource(pool));
+    }
+}
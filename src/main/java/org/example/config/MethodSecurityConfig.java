@@ -0,0 +1,112 @@
+package org.example.config;
+
+import org.example.security.CachingPreInvocationAdvice;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.access.AccessDecisionManager;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.ExpressionBasedAnnotationAttributeFactory;
+import org.springframework.security.access.expression.method.ExpressionBasedPostInvocationAdvice;
+import org.springframework.security.access.expression.method.ExpressionBasedPreInvocationAdvice;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.access.intercept.AfterInvocationProviderManager;
+import org.springframework.security.access.intercept.aopalliance.MethodSecurityInterceptor;
+import org.springframework.security.access.intercept.aopalliance.MethodSecurityMetadataSourceAdvisor;
+import org.springframework.security.access.method.DelegatingMethodSecurityMetadataSource;
+import org.springframework.security.access.method.MethodSecurityMetadataSource;
+import org.springframework.security.access.prepost.PostInvocationAdviceProvider;
+import org.springframework.security.access.prepost.PreInvocationAuthorizationAdviceVoter;
+import org.springframework.security.access.prepost.PrePostAnnotationSecurityMetadataSource;
+import org.springframework.security.access.vote.AffirmativeBased;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code @PreAuthorize}/{@code @PostAuthorize} support built from spring-security-core only.
+ * Expressions are parsed once per method and compiled to bytecode after their first evaluations
+ * ({@code security.expression-compiler-mode}, {@code MIXED} by default), and pre-invocation decisions are cached
+ * by {@link CachingPreInvocationAdvice}. Secured beans are proxied by the infrastructure auto-proxy creator
+ * registered with {@code @EnableTransactionManagement}.
+ */
+@Configuration
+class MethodSecurityConfig {
+
+    private static final String INTERCEPTOR_BEAN = "methodSecurityInterceptor";
+    private static final String METADATA_SOURCE_BEAN = "methodSecurityMetadataSource";
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    MethodSecurityExpressionHandler methodSecurityExpressionHandler(
+            @Value("${security.expression-compiler-mode:MIXED}") SpelCompilerMode compilerMode) {
+        var expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setExpressionParser(new SpelExpressionParser(
+                new SpelParserConfiguration(compilerMode, MethodSecurityConfig.class.getClassLoader())));
+        return expressionHandler;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    CachingPreInvocationAdvice preInvocationAdvice(MethodSecurityExpressionHandler expressionHandler,
+                                                   @Value("${security.decision-cache.maximum-size:10000}") int maximumSize,
+                                                   @Value("${security.decision-cache.time-to-live-seconds:30}") long timeToLive) {
+        var advice = new ExpressionBasedPreInvocationAdvice();
+        advice.setExpressionHandler(expressionHandler);
+        return new CachingPreInvocationAdvice(advice, maximumSize, Duration.ofSeconds(timeToLive));
+    }
+
+    @Bean(METADATA_SOURCE_BEAN)
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    MethodSecurityMetadataSource methodSecurityMetadataSource(MethodSecurityExpressionHandler expressionHandler) {
+        return new DelegatingMethodSecurityMetadataSource(List.of(new PrePostAnnotationSecurityMetadataSource(
+                new ExpressionBasedAnnotationAttributeFactory(expressionHandler))));
+    }
+
+    @Bean(INTERCEPTOR_BEAN)
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    MethodSecurityInterceptor methodSecurityInterceptor(MethodSecurityMetadataSource metadataSource,
+                                                        CachingPreInvocationAdvice preInvocationAdvice,
+                                                        MethodSecurityExpressionHandler expressionHandler) {
+        var postInvocationAdvice = new ExpressionBasedPostInvocationAdvice(expressionHandler);
+        var afterInvocationManager = new AfterInvocationProviderManager();
+        afterInvocationManager.setProviders(List.of(new PostInvocationAdviceProvider(postInvocationAdvice)));
+
+        var interceptor = new MethodSecurityInterceptor();
+        interceptor.setSecurityMetadataSource(metadataSource);
+        interceptor.setAccessDecisionManager(accessDecisionManager(preInvocationAdvice));
+        interceptor.setAfterInvocationManager(afterInvocationManager);
+        interceptor.setAuthenticationManager(new AuthenticatedCallersOnly());
+        return interceptor;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    MethodSecurityMetadataSourceAdvisor methodSecurityAdvisor(MethodSecurityMetadataSource metadataSource) {
+        return new MethodSecurityMetadataSourceAdvisor(INTERCEPTOR_BEAN, metadataSource, METADATA_SOURCE_BEAN);
+    }
+
+    private AccessDecisionManager accessDecisionManager(CachingPreInvocationAdvice preInvocationAdvice) {
+        return new AffirmativeBased(List.of(new PreInvocationAuthorizationAdviceVoter(preInvocationAdvice)));
+    }
+
+    /**
+     * Secured methods are called with an already authenticated caller; method security never authenticates.
+     */
+    private static final class AuthenticatedCallersOnly implements AuthenticationManager {
+
+        @Override
+        public Authentication authenticate(Authentication authentication) {
+            throw new AuthenticationCredentialsNotFoundException("Callers must be authenticated before calling "
+                    + "secured methods");
+        }
+    }
+}
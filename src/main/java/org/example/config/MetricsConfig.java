@@ -0,0 +1,45 @@
+package org.example.config;
+
+import org.example.async.MeteredExecutor;
+import org.example.metrics.LatencyBeanPostProcessor;
+import org.example.metrics.LatencyReporter;
+import org.example.metrics.MethodLatencies;
+import org.example.metrics.StatsReporter;
+import org.example.repository.MyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Configuration
+class MetricsConfig {
+
+    @Bean
+    static MethodLatencies methodLatencies() {
+        return new MethodLatencies();
+    }
+
+    @Bean
+    static LatencyBeanPostProcessor latencyBeanPostProcessor(MethodLatencies methodLatencies) {
+        return new LatencyBeanPostProcessor(methodLatencies);
+    }
+
+    @Bean(destroyMethod = "close")
+    LatencyReporter latencyReporter(MethodLatencies methodLatencies,
+                                    @Value("${metrics.latency.interval-seconds:60}") long interval) {
+        return new LatencyReporter(methodLatencies, Duration.ofSeconds(interval));
+    }
+
+    @Bean(destroyMethod = "close")
+    StatsReporter statsReporter(MyRepository myRepository, List<MeteredExecutor> executors,
+                                @Value("${metrics.stats.interval-seconds:60}") long interval) {
+        var sources = new LinkedHashMap<String, Supplier<?>>();
+        sources.put("entityCache", myRepository::cacheStats);
+        executors.forEach(executor -> sources.put(executor.getName(), executor::stats));
+        return new StatsReporter(sources, Duration.ofSeconds(interval));
+    }
+}
@@ -1,7 +1,79 @@
 package org.example.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.async.MeteredExecutor;
+import org.example.model.MyEntity;
+import org.example.repository.EntityCache;
+import org.example.repository.LruEntityCache;
+import org.example.repository.MyRepository;
+import org.example.repository.WriteBehindBuffer;
+import org.example.service.RequestCoalescer;
+import org.example.startup.LazyInitializationPostProcessor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.time.Duration;
+
 @Configuration
 class MyConfig {
+
+    @Bean
+    static LazyInitializationPostProcessor lazyInitializationPostProcessor() {
+        return new LazyInitializationPostProcessor();
+    }
+
+    /**
+     * Shared JSON mapper, also used by endpoints that write JSON themselves, e.g. streamed exports.
+     */
+    @Bean
+    ObjectMapper objectMapper() {
+        return new ObjectMapper();
+    }
+
+    /**
+     * @param schemaAction Hibernate schema action; {@code update} creates missing tables and indexes, e.g. in the
+     *                     embedded database, and never drops anything
+     */
+    @Bean(destroyMethod = "close")
+    EntityManagerFactory entityManagerFactory(DataSource dataSource,
+                                              @Value("${repository.batch-size:500}") int batchSize,
+                                              @Value("${repository.schema-action:update}") String schemaAction) {
+        var configuration = new org.hibernate.cfg.Configuration();
+        configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
+        return configuration
+                .addAnnotatedClass(MyEntity.class)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, schemaAction)
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(AvailableSettings.ORDER_UPDATES, "true")
+                .setProperty(AvailableSettings.BATCH_VERSIONED_DATA, "true")
+                .buildSessionFactory();
+    }
+
+    @Bean(destroyMethod = "close")
+    WriteBehindBuffer myEntityWriteBehindBuffer(MyRepository myRepository,
+                                                @Value("${repository.batch-size:500}") int batchSize,
+                                                @Value("${repository.write-behind.capacity:5000}") int capacity,
+                                                @Value("${repository.write-behind.max-flush-delay-millis:200}") long maxFlushDelay) {
+        return new WriteBehindBuffer(myRepository, batchSize, capacity, Duration.ofMillis(maxFlushDelay));
+    }
+
+    @Bean
+    EntityCache<Long, MyEntity> myEntityCache(@Value("${repository.cache.maximum-size:10000}") int maximumSize,
+                                              @Value("${repository.cache.time-to-live-seconds:300}") long timeToLive) {
+        return new LruEntityCache<>(maximumSize, Duration.ofSeconds(timeToLive), MyEntity::new);
+    }
+
+    @Bean(destroyMethod = "close")
+    RequestCoalescer<Long, MyEntity> myEntityLookups(MyRepository myRepository,
+                                                     @Qualifier("ioExecutor") MeteredExecutor ioExecutor,
+                                                     @Value("${service.coalescing.max-batch-size:100}") int maxBatchSize,
+                                                     @Value("${service.coalescing.window-millis:2}") long window) {
+        return new RequestCoalescer<>(myRepository::findAllByIds, maxBatchSize, Duration.ofMillis(window), ioExecutor);
+    }
 }
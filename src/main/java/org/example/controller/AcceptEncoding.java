@@ -0,0 +1,55 @@
+package org.example.controller;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reads the content codings a client accepts from its {@code Accept-Encoding} header, including their quality values.
+ */
+final class AcceptEncoding {
+
+    private static final Set<String> GZIP_CODINGS = Set.of("gzip", "x-gzip");
+
+    private AcceptEncoding() {
+    }
+
+    /**
+     * @return whether {@code acceptEncoding} accepts gzip with a non-zero quality, either by name or through
+     * {@code *} when gzip is not listed itself
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            var parameters = coding.split(";");
+            var name = parameters[0].trim().toLowerCase(Locale.ROOT);
+            if (GZIP_CODINGS.contains(name)) {
+                gzipQuality = qualityOf(parameters);
+            } else if (name.equals("*")) {
+                anyQuality = qualityOf(parameters);
+            }
+        }
+        var quality = gzipQuality != null ? gzipQuality : anyQuality;
+        return quality != null && quality > 0;
+    }
+
+    /**
+     * @return the {@code q} parameter, 1 when it is missing, or 0 when it is not a number
+     */
+    private static double qualityOf(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            var parameter = parameters[i].split("=", 2);
+            if (parameter.length == 2 && parameter[0].trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(parameter[1].trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -1,7 +1,138 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.example.dto.EntitySort;
+import org.example.dto.KeysetPage;
+import org.example.dto.MyEntityDto;
+import org.example.metrics.LatencyReporter;
+import org.example.metrics.LatencySnapshot;
+import org.example.metrics.StatsReporter;
+import org.example.service.InvalidCursorException;
+import org.example.service.MyService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 class MyController {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String GZIP = "gzip";
+
+    private final MyService myService;
+    private final LatencyReporter latencyReporter;
+    private final StatsReporter statsReporter;
+    private final ObjectMapper objectMapper;
+    private final int maxPageSize;
+    private final int exportBufferSize;
+    private final int exportFetchSize;
+
+    MyController(MyService myService,
+                 LatencyReporter latencyReporter,
+                 StatsReporter statsReporter,
+                 ObjectMapper objectMapper,
+                 @Value("${entities.max-page-size:500}") int maxPageSize,
+                 @Value("${export.buffer-size:65536}") int exportBufferSize,
+                 @Value("${export.fetch-size:1000}") int exportFetchSize) {
+        this.myService = myService;
+        this.latencyReporter = latencyReporter;
+        this.statsReporter = statsReporter;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
+        this.exportBufferSize = exportBufferSize;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    @GetMapping("/entities")
+    @Operation(summary = "List entities page by page",
+            description = "Keyset pagination: the response header " + NEXT_CURSOR_HEADER + " holds an opaque cursor "
+                    + "of the next page and is missing on the last page. Pass it as the cursor parameter to fetch "
+                    + "the next page; fetching any page costs the same regardless of its depth.")
+    public ResponseEntity<List<MyEntityDto>> findPage(
+            @Parameter(description = "Cursor from the " + NEXT_CURSOR_HEADER + " header, empty for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sort order of the first page, ignored when a cursor is given")
+            @RequestParam(defaultValue = "ID") EntitySort sort,
+            @Parameter(description = "Page size, at most entities.max-page-size (500 by default)")
+            @RequestParam(defaultValue = "50") int size) {
+        if (size <= 0 || size > maxPageSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        KeysetPage<MyEntityDto> page;
+        try {
+            page = myService.findPage(cursor, sort, size);
+        } catch (InvalidCursorException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        var response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    @GetMapping("/entities/export")
+    @Operation(summary = "Export all entities",
+            description = "Streams all entities as a JSON array in chunks while they are read from the database, "
+                    + "so the export size is not limited by server memory. The body is gzip compressed when the "
+                    + "request accepts gzip encoding with a non-zero quality.")
+    public ResponseEntity<StreamingResponseBody> exportAll(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        var gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = outputStream -> {
+            try (var entities = myService.streamAll(exportFetchSize);
+                 var generator = objectMapper.getFactory().createGenerator(wrap(outputStream, gzip))) {
+                generator.writeStartArray();
+                for (var iterator = entities.iterator(); iterator.hasNext(); ) {
+                    generator.writeObject(iterator.next());
+                }
+                generator.writeEndArray();
+            }
+        };
+        var response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        return response.body(body);
+    }
+
+    @GetMapping("/metrics/latencies")
+    @Operation(summary = "Method latencies",
+            description = "Latency percentiles of every controller, service and repository method over the last "
+                    + "complete reporting interval (metrics.latency.interval-seconds), slowest p99 first.")
+    public ResponseEntity<List<LatencySnapshot>> findLatencies() {
+        return ResponseEntity.ok(latencyReporter.latestSnapshots());
+    }
+
+    @GetMapping("/metrics/stats")
+    @Operation(summary = "Component statistics",
+            description = "Current statistics of caches and executors, e.g. hit ratios, queue depths and rejected "
+                    + "tasks. They are also logged every metrics.stats.interval-seconds.")
+    public ResponseEntity<Map<String, Object>> findStats() {
+        return ResponseEntity.ok(statsReporter.currentStats());
+    }
+
+    private OutputStream wrap(OutputStream outputStream, boolean gzip) throws IOException {
+        return gzip
+                ? new GZIPOutputStream(outputStream, exportBufferSize)
+                : new BufferedOutputStream(outputStream, exportBufferSize);
+    }
 }
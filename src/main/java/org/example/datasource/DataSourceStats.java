@@ -0,0 +1,70 @@
+package org.example.datasource;
+
+import java.util.Locale;
+
+/**
+ * Connection usage of a {@link MeteredDataSource} since it was created.
+ */
+public class DataSourceStats {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String name;
+    private final int activeConnections;
+    private final long acquiredConnections;
+    private final long acquireFailures;
+    private final long totalAcquireNanos;
+    private final long maxAcquireNanos;
+    private final long releasedConnections;
+    private final long totalHoldNanos;
+
+    DataSourceStats(String name, int activeConnections, long acquiredConnections, long acquireFailures,
+                    long totalAcquireNanos, long maxAcquireNanos, long releasedConnections, long totalHoldNanos) {
+        this.name = name;
+        this.activeConnections = activeConnections;
+        this.acquiredConnections = acquiredConnections;
+        this.acquireFailures = acquireFailures;
+        this.totalAcquireNanos = totalAcquireNanos;
+        this.maxAcquireNanos = maxAcquireNanos;
+        this.releasedConnections = releasedConnections;
+        this.totalHoldNanos = totalHoldNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public long getAcquiredConnections() {
+        return acquiredConnections;
+    }
+
+    public long getAcquireFailures() {
+        return acquireFailures;
+    }
+
+    public double getAverageAcquireMillis() {
+        return acquiredConnections == 0 ? 0 : totalAcquireNanos / NANOS_PER_MILLI / acquiredConnections;
+    }
+
+    public double getMaxAcquireMillis() {
+        return maxAcquireNanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * @return average time between acquiring and closing a connection, i.e. the latency of the work done with it
+     */
+    public double getAverageHoldMillis() {
+        return releasedConnections == 0 ? 0 : totalHoldNanos / NANOS_PER_MILLI / releasedConnections;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s{active=%d, acquired=%d, failures=%d, avgAcquire=%.3fms, maxAcquire=%.3fms, "
+                        + "avgHold=%.3fms}", name, activeConnections, acquiredConnections, acquireFailures,
+                getAverageAcquireMillis(), getMaxAcquireMillis(), getAverageHoldMillis());
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named data source counting open connections and measuring how long connections take to acquire
+ * and how long they are held. Closing it closes the target, e.g. its connection pool.
+ */
+public class MeteredDataSource extends DelegatingDataSource implements Closeable {
+
+    private final String name;
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final LongAdder acquiredConnections = new LongAdder();
+    private final LongAdder acquireFailures = new LongAdder();
+    private final LongAdder totalAcquireNanos = new LongAdder();
+    private final LongAccumulator maxAcquireNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder releasedConnections = new LongAdder();
+    private final LongAdder totalHoldNanos = new LongAdder();
+
+    public MeteredDataSource(String name, DataSource target) {
+        super(target);
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections.get();
+    }
+
+    public DataSourceStats stats() {
+        return new DataSourceStats(name, activeConnections.get(), acquiredConnections.sum(), acquireFailures.sum(),
+                totalAcquireNanos.sum(), maxAcquireNanos.get(), releasedConnections.sum(), totalHoldNanos.sum());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        var start = System.nanoTime();
+        try {
+            return metered(super.getConnection(), start);
+        } catch (SQLException e) {
+            acquireFailures.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        var start = System.nanoTime();
+        try {
+            return metered(super.getConnection(username, password), start);
+        } catch (SQLException e) {
+            acquireFailures.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        var target = getTargetDataSource();
+        if (target instanceof Closeable) {
+            ((Closeable) target).close();
+        }
+    }
+
+    private Connection metered(Connection connection, long acquireStart) {
+        var acquiredAt = System.nanoTime();
+        totalAcquireNanos.add(acquiredAt - acquireStart);
+        maxAcquireNanos.accumulate(acquiredAt - acquireStart);
+        acquiredConnections.increment();
+        activeConnections.incrementAndGet();
+        return (Connection) Proxy.newProxyInstance(MeteredDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ReleaseTracker(connection, acquiredAt));
+    }
+
+    private final class ReleaseTracker implements InvocationHandler {
+
+        private final Connection target;
+        private final long acquiredAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseTracker(Connection target, long acquiredAt) {
+            this.target = target;
+            this.acquiredAt = acquiredAt;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    if (released.compareAndSet(false, true)) {
+                        activeConnections.decrementAndGet();
+                        releasedConnections.increment();
+                        totalHoldNanos.add(System.nanoTime() - acquiredAt);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.datasource;
+
+/**
+ * Keeps reads of a thread on the primary for a while after the thread committed a write,
+ * so replication lag cannot hide the thread's own writes from it.
+ * <p>
+ * The pin belongs to the thread, not to the user: a follow-up request of the same user served by another thread,
+ * or a read handed off to another executor, is not pinned and may still read a stale replica. Callers needing
+ * read-your-writes across requests must read in a read-write transaction, which always uses the primary.
+ */
+final class ReadYourWrites {
+
+    private static final ThreadLocal<Long> PINNED_UNTIL_NANOS = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    static void pinToPrimary(long durationNanos) {
+        PINNED_UNTIL_NANOS.set(System.nanoTime() + durationNanos);
+    }
+
+    static boolean isPinnedToPrimary() {
+        var pinnedUntil = PINNED_UNTIL_NANOS.get();
+        if (pinnedUntil == null) {
+            return false;
+        }
+        if (System.nanoTime() - pinnedUntil < 0) {
+            return true;
+        }
+        PINNED_UNTIL_NANOS.remove();
+        return false;
+    }
+
+    static void unpin() {
+        PINNED_UNTIL_NANOS.remove();
+    }
+}
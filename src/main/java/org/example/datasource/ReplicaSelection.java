@@ -0,0 +1,17 @@
+package org.example.datasource;
+
+/**
+ * How {@link RoutingDataSource} picks a replica for a read-only transaction.
+ */
+public enum ReplicaSelection {
+
+    /**
+     * Replicas take turns.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * The replica with the fewest open connections, the first one on ties.
+     */
+    LEAST_LOADED
+}
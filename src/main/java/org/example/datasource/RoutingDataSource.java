@@ -0,0 +1,102 @@
+package org.example.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections of read-only transactions to a replica and everything else to the primary.
+ * After a thread commits a write its reads stay on the primary for {@code readYourWritesWindow}; see
+ * {@link ReadYourWrites} for the limits of this guarantee.
+ * The routing decision is taken when a connection is acquired, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} for the transaction's read-only flag
+ * to be known at that point.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final MeteredDataSource primary;
+    private final List<MeteredDataSource> replicas;
+    private final ReplicaSelection replicaSelection;
+    private final long readYourWritesNanos;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public RoutingDataSource(MeteredDataSource primary, List<MeteredDataSource> replicas,
+                             ReplicaSelection replicaSelection, Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.replicaSelection = replicaSelection;
+        this.readYourWritesNanos = readYourWritesWindow.toNanos();
+
+        var targets = new HashMap<Object, Object>();
+        targets.put(primary.getName(), primary);
+        replicas.forEach(replica -> targets.put(replica.getName(), replica));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * @return usage of the primary and every replica, keyed by data source name
+     */
+    public Map<String, DataSourceStats> stats() {
+        var stats = new LinkedHashMap<String, DataSourceStats>();
+        stats.put(primary.getName(), primary.stats());
+        replicas.forEach(replica -> stats.put(replica.getName(), replica.stats()));
+        return stats;
+    }
+
+    /**
+     * Closes the primary and all replicas.
+     */
+    @Override
+    public void close() throws IOException {
+        primary.close();
+        for (MeteredDataSource replica : replicas) {
+            replica.close();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return primary.getName();
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return replicas.isEmpty() || ReadYourWrites.isPinnedToPrimary()
+                    ? primary.getName()
+                    : selectReplica().getName();
+        }
+        if (readYourWritesNanos > 0 && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ReadYourWrites.pinToPrimary(readYourWritesNanos);
+                }
+            });
+        }
+        return primary.getName();
+    }
+
+    private MeteredDataSource selectReplica() {
+        if (replicaSelection == ReplicaSelection.ROUND_ROBIN) {
+            return replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+        }
+        var leastLoaded = replicas.get(0);
+        for (MeteredDataSource replica : replicas) {
+            if (replica.getActiveConnections() < leastLoaded.getActiveConnections()) {
+                leastLoaded = replica;
+            }
+        }
+        return leastLoaded;
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.dto;
+
+import java.util.List;
+
+/**
+ * Page of items with an opaque cursor pointing behind its last item.
+ */
+public class KeysetPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return cursor of the next page, {@code null} on the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
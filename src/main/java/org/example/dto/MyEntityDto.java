@@ -0,0 +1,20 @@
+package org.example.dto;
+
+public class MyEntityDto {
+
+    private final Long id;
+    private final String name;
+
+    public MyEntityDto(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
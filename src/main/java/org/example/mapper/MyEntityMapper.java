@@ -0,0 +1,24 @@
+package org.example.mapper;
+
+import org.example.dto.MyEntityDto;
+import org.example.model.MyEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+/**
+ * Maps entities to controller-facing DTOs with plain getter and constructor calls generated at compile time.
+ * Only properties of the DTO are read from the entity, so lazy associations are never initialised by mapping;
+ * an association added to a DTO must be fetched by the query that loads the entity.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface MyEntityMapper {
+
+    MyEntityDto toDto(MyEntity entity);
+
+    /**
+     * @return list presized to {@code entities}
+     */
+    List<MyEntityDto> toDtos(List<MyEntity> entities);
+}
@@ -0,0 +1,35 @@
+package org.example.metrics;
+
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+
+/**
+ * Measures methods of {@code @RestController}, {@code @Service} and {@code @Repository} beans with
+ * {@link MethodLatencies}. Beans already proxied, e.g. for transactions or method security, get the latency advice
+ * in front of their other advice, so the measured time includes them.
+ */
+public class LatencyBeanPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public LatencyBeanPostProcessor(MethodLatencies methodLatencies) {
+        var pointcut = new ComposablePointcut(new AnnotationClassFilter(RestController.class, true))
+                .union(new AnnotationClassFilter(Service.class, true))
+                .union(new AnnotationClassFilter(Repository.class, true))
+                .intersection(new StaticMethodMatcher() {
+                    @Override
+                    public boolean matches(Method method, Class<?> targetClass) {
+                        return method.getDeclaringClass() != Object.class;
+                    }
+                });
+        this.advisor = new DefaultPointcutAdvisor(pointcut, methodLatencies);
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+}
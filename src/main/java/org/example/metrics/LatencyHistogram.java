@@ -0,0 +1,150 @@
+package org.example.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Log-linear histogram of nanosecond latencies in a fixed array of counters: every power of two is split into
+ * {@value #SUB_BUCKETS} buckets, so a recorded value is known within about 3%. Values above
+ * {@link #MAX_TRACKABLE_NANOS} (about 18 minutes) are counted as that maximum.
+ * <p>
+ * Recording is lock-free and does not allocate. Like {@link java.util.concurrent.atomic.LongAdder}, counters are
+ * striped by thread, so concurrent recordings mostly update different cache lines. As in HdrHistogram's
+ * {@code Recorder}, two intervals of counters are allocated up front, about 18 KB per stripe in all:
+ * {@link #snapshotAndReset(String)} swaps in the inactive one, waits for recordings still writing to the
+ * other, drains it and zeroes it for the next swap, so no value is lost or counted twice.
+ */
+public class LatencyHistogram {
+
+    static final long MAX_TRACKABLE_NANOS = (1L << 40) - 1;
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = bucketOf(MAX_TRACKABLE_NANOS) + 1;
+    private static final int STRIPES =
+            Math.max(1, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    private final AtomicReference<Interval> current = new AtomicReference<>(new Interval());
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private Interval inactive = new Interval();
+
+    public void record(long nanos) {
+        var value = Math.max(0, Math.min(nanos, MAX_TRACKABLE_NANOS));
+        var stripeIndex = stripeOf(Thread.currentThread());
+        while (true) {
+            var interval = current.get();
+            var stripe = interval.stripes[stripeIndex];
+            stripe.writers.incrementAndGet();
+            if (current.get() != interval) {
+                stripe.writers.decrementAndGet();
+                continue;
+            }
+            stripe.counts.incrementAndGet(bucketOf(value));
+            stripe.sum.addAndGet(value);
+            if (value > stripe.max.get()) {
+                stripe.max.accumulateAndGet(value, Math::max);
+            }
+            stripe.writers.decrementAndGet();
+            return;
+        }
+    }
+
+    public LatencySnapshot snapshotAndReset(String name) {
+        var counts = new long[BUCKETS];
+        long count = 0;
+        long sum = 0;
+        long max = 0;
+        snapshotLock.lock();
+        try {
+            var interval = current.getAndSet(inactive);
+            for (Stripe stripe : interval.stripes) {
+                while (stripe.writers.get() != 0) {
+                    Thread.onSpinWait();
+                }
+                for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                    var bucketCount = stripe.counts.get(bucket);
+                    if (bucketCount != 0) {
+                        counts[bucket] += bucketCount;
+                        count += bucketCount;
+                        stripe.counts.set(bucket, 0);
+                    }
+                }
+                sum += stripe.sum.getAndSet(0);
+                max = Math.max(max, stripe.max.getAndSet(0));
+            }
+            inactive = interval;
+        } finally {
+            snapshotLock.unlock();
+        }
+        return new LatencySnapshot(name, count, count == 0 ? 0 : sum / count,
+                valueAtQuantile(counts, count, max, 0.5), valueAtQuantile(counts, count, max, 0.99),
+                valueAtQuantile(counts, count, max, 0.999), max);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        var highestBit = 63 - Long.numberOfLeadingZeros(value);
+        var shift = highestBit - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * @return the highest value counted in {@code bucket}
+     */
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        var shift = bucket / SUB_BUCKETS - 1;
+        var subBucket = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * @return the upper bound of the bucket holding the value at {@code quantile}, but never more than {@code max}
+     */
+    static long valueAtQuantile(long[] counts, long total, long max, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        var rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Spreads sequential thread ids over the stripes.
+     */
+    private static int stripeOf(Thread thread) {
+        return (int) ((thread.getId() * 0x9E3779B97F4A7C15L) >>> 32) & (STRIPES - 1);
+    }
+
+    private static final class Interval {
+
+        private final Stripe[] stripes = new Stripe[STRIPES];
+
+        private Interval() {
+            Arrays.setAll(stripes, index -> new Stripe());
+        }
+    }
+
+    private static final class Stripe {
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+        private final AtomicInteger writers = new AtomicInteger();
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes a snapshot of all method latencies every {@code interval}, resets them and logs the snapshot.
+ * The latest snapshot stays available through {@link #latestSnapshots()}.
+ */
+public class LatencyReporter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LatencyReporter.class);
+
+    private final MethodLatencies methodLatencies;
+    private final ScheduledExecutorService scheduler;
+    private volatile List<LatencySnapshot> latestSnapshots = List.of();
+
+    public LatencyReporter(MethodLatencies methodLatencies, Duration interval) {
+        this.methodLatencies = methodLatencies;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "latency-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::report, interval.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return latencies of the last complete interval, slowest p99 first
+     */
+    public List<LatencySnapshot> latestSnapshots() {
+        return latestSnapshots;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        report();
+    }
+
+    private void report() {
+        var snapshots = List.copyOf(methodLatencies.snapshotAndReset());
+        latestSnapshots = snapshots;
+        if (log.isInfoEnabled() && !snapshots.isEmpty()) {
+            log.info("Method latencies of {} methods:", snapshots.size());
+            for (LatencySnapshot snapshot : snapshots) {
+                log.info("  {}", snapshot);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.metrics;
+
+import java.util.Locale;
+
+/**
+ * Latency distribution of one method over one reporting interval. Percentiles are upper bounds of their
+ * histogram bucket, within about 3% of the recorded value.
+ */
+public class LatencySnapshot {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String name;
+    private final long count;
+    private final long meanNanos;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maxNanos;
+
+    LatencySnapshot(String name, long count, long meanNanos, long p50Nanos, long p99Nanos, long p999Nanos,
+                    long maxNanos) {
+        this.name = name;
+        this.count = count;
+        this.meanNanos = meanNanos;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMeanNanos() {
+        return meanNanos;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: count=%d, mean=%.3fms, p50=%.3fms, p99=%.3fms, p999=%.3fms, max=%.3fms", name, count,
+                meanNanos / NANOS_PER_MILLI, p50Nanos / NANOS_PER_MILLI, p99Nanos / NANOS_PER_MILLI,
+                p999Nanos / NANOS_PER_MILLI, maxNanos / NANOS_PER_MILLI);
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Records the latency of every intercepted method into its own {@link LatencyHistogram}.
+ * Only the first call of a method allocates, to register its histogram.
+ */
+public class MethodLatencies implements MethodInterceptor {
+
+    private final Map<Method, NamedHistogram> histograms = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            var elapsed = System.nanoTime() - start;
+            var method = invocation.getMethod();
+            var histogram = histograms.get(method);
+            if (histogram == null) {
+                histogram = histograms.computeIfAbsent(method, NamedHistogram::new);
+            }
+            histogram.histogram.record(elapsed);
+        }
+    }
+
+    /**
+     * @return latencies recorded since the previous call, slowest p99 first; methods not called meanwhile are left out
+     */
+    public List<LatencySnapshot> snapshotAndReset() {
+        var snapshots = new ArrayList<LatencySnapshot>(histograms.size());
+        for (NamedHistogram histogram : histograms.values()) {
+            var snapshot = histogram.histogram.snapshotAndReset(histogram.name);
+            if (snapshot.getCount() > 0) {
+                snapshots.add(snapshot);
+            }
+        }
+        snapshots.sort(Comparator.comparingLong(LatencySnapshot::getP99Nanos).reversed());
+        return snapshots;
+    }
+
+    private static final class NamedHistogram {
+
+        private final String name;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private NamedHistogram(Method method) {
+            this.name = method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                    + Arrays.stream(method.getParameterTypes())
+                    .map(Class::getSimpleName)
+                    .collect(Collectors.joining(",", "(", ")"));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Logs the statistics of caches, executors and other components every {@code interval}.
+ * Their current values are also available through {@link #currentStats()}.
+ */
+public class StatsReporter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(StatsReporter.class);
+
+    private final Map<String, Supplier<?>> sources;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param sources statistics by component name, reported in iteration order
+     */
+    public StatsReporter(Map<String, Supplier<?>> sources, Duration interval) {
+        this.sources = Collections.unmodifiableMap(new LinkedHashMap<>(sources));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "stats-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::report, interval.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return statistics of every component by its name
+     */
+    public Map<String, Object> currentStats() {
+        var stats = new LinkedHashMap<String, Object>();
+        sources.forEach((name, source) -> stats.put(name, source.get()));
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        report();
+    }
+
+    private void report() {
+        if (log.isInfoEnabled() && !sources.isEmpty()) {
+            log.info("Component statistics:");
+            currentStats().forEach((name, stats) -> log.info("  {}: {}", name, stats));
+        }
+    }
+}
@@ -1,7 +1,41 @@
 package org.example.model;
 
-import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
 
-@Entity
+@MappedSuperclass
 public class AbstractEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Version
+    private Long version;
+
+    public AbstractEntity() {
+    }
+
+    /**
+     * Copies id and version of {@code source}, e.g. for cached entities handed out to several callers.
+     */
+    protected AbstractEntity(AbstractEntity source) {
+        this.id = source.id;
+        this.version = source.version;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Clears id and version assigned by a persist whose transaction was rolled back.
+     */
+    public void clearIdentity() {
+        this.id = null;
+        this.version = null;
+    }
 }
@@ -1,7 +1,30 @@
 package org.example.model;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
 
 @Entity
+@Table(indexes = @Index(name = "my_entity_name_id_idx", columnList = "name, id"))
 public class MyEntity extends AbstractEntity {
+
+    @Column(nullable = false)
+    private String name;
+
+    public MyEntity() {
+    }
+
+    public MyEntity(MyEntity source) {
+        super(source);
+        this.name = source.name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
 }
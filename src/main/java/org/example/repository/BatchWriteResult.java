@@ -0,0 +1,31 @@
+package org.example.repository;
+
+/**
+ * Per-item results of {@link MyRepository#saveAll}, in the order of the saved entities.
+ */
+public class BatchWriteResult {
+
+    private final WriteResult[] results;
+
+    BatchWriteResult(WriteResult[] results) {
+        this.results = results;
+    }
+
+    public int size() {
+        return results.length;
+    }
+
+    public WriteResult get(int index) {
+        return results[index];
+    }
+
+    public long failedCount() {
+        var failed = 0L;
+        for (WriteResult result : results) {
+            if (!result.isSuccessful()) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of entities loaded by a repository.
+ */
+public interface EntityCache<K, V> {
+
+    /**
+     * Returns the cached value for {@code key} or loads it with {@code loader}. Absent values are not cached.
+     */
+    Optional<V> findOrLoad(K key, Function<? super K, Optional<V>> loader);
+
+    /**
+     * Returns cached values of {@code keys} and loads all missing ones with a single call to {@code loader}.
+     * Keys without a value are missing from the result and are not cached.
+     */
+    Map<K, V> findAllOrLoad(Collection<K> keys, Function<? super List<K>, Map<K, V>> loader);
+
+    /**
+     * Returns the cached value for {@code key} without loading it. Only hits are counted in {@link #stats()},
+     * so a lookup falling back to {@link #findOrLoad} or {@link #findAllOrLoad} counts once.
+     */
+    Optional<V> findCached(K key);
+
+    void invalidate(K key);
+
+    void invalidateAll();
+
+    EntityCacheStats stats();
+}
@@ -0,0 +1,49 @@
+package org.example.repository;
+
+public class EntityCacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final int size;
+
+    public EntityCacheStats(long hits, long misses, long evictions, long expirations, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public double getHitRatio() {
+        var requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityCacheStats{hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                + ", expirations=" + expirations + ", size=" + size + "}";
+    }
+}
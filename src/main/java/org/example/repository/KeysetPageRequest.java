@@ -0,0 +1,56 @@
+package org.example.repository;
+
+/**
+ * Page of entities following a known position in the sort order, instead of skipping an offset.
+ * The position is the sort value and id of the last entity of the previous page; the id breaks ties.
+ */
+public class KeysetPageRequest {
+
+    public enum SortKey {
+        ID,
+        NAME
+    }
+
+    private final SortKey sortKey;
+    private final String afterSortValue;
+    private final Long afterId;
+    private final int size;
+
+    private KeysetPageRequest(SortKey sortKey, String afterSortValue, Long afterId, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive but was " + size);
+        }
+        this.sortKey = sortKey;
+        this.afterSortValue = afterSortValue;
+        this.afterId = afterId;
+        this.size = size;
+    }
+
+    public static KeysetPageRequest first(SortKey sortKey, int size) {
+        return new KeysetPageRequest(sortKey, null, null, size);
+    }
+
+    public static KeysetPageRequest after(SortKey sortKey, String afterSortValue, long afterId, int size) {
+        return new KeysetPageRequest(sortKey, afterSortValue, afterId, size);
+    }
+
+    public SortKey getSortKey() {
+        return sortKey;
+    }
+
+    public String getAfterSortValue() {
+        return afterSortValue;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isFirstPage() {
+        return afterId == null;
+    }
+}
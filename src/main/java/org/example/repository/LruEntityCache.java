@@ -0,0 +1,196 @@
+package org.example.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded {@link EntityCache} evicting approximately least recently used entries, with a time to live per entry.
+ * Reads never lock. When the cache grows past {@code maximumSize}, one writer evicts the least recently read
+ * tenth of the entries at once, so the cost of sorting is shared by many writes.
+ * <p>
+ * A missing key is marked as loading before its value is loaded; invalidating the key removes the mark, and the
+ * loaded value is only cached if the mark is still in place. Invalidations therefore only affect loads of the same key.
+ * Values are copied with {@code copier} when cached and on every hit, so callers never share a mutable instance.
+ */
+public class LruEntityCache<K, V> implements EntityCache<K, V> {
+
+    private final int maximumSize;
+    private final int evictionBatchSize;
+    private final long timeToLiveNanos;
+    private final UnaryOperator<V> copier;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public LruEntityCache(int maximumSize, Duration timeToLive, UnaryOperator<V> copier) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive but was " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.evictionBatchSize = Math.max(1, maximumSize / 10);
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.copier = copier;
+    }
+
+    @Override
+    public Optional<V> findOrLoad(K key, Function<? super K, Optional<V>> loader) {
+        var values = findAllOrLoad(List.of(key), keys -> loader.apply(key)
+                .map(value -> Map.of(key, value))
+                .orElse(Map.of()));
+        return Optional.ofNullable(values.get(key));
+    }
+
+    @Override
+    public Map<K, V> findAllOrLoad(Collection<K> keys, Function<? super List<K>, Map<K, V>> loader) {
+        var values = new HashMap<K, V>(keys.size() * 4 / 3 + 1);
+        var missingKeys = new ArrayList<K>();
+        for (K key : keys) {
+            lookup(key).ifPresentOrElse(value -> values.put(key, value), () -> missingKeys.add(key));
+        }
+        hits.add(values.size());
+        if (missingKeys.isEmpty()) {
+            return values;
+        }
+        misses.add(missingKeys.size());
+
+        var loadingMarks = new HashMap<K, Entry<V>>(missingKeys.size() * 4 / 3 + 1);
+        for (K key : missingKeys) {
+            var loading = Entry.<V>loading();
+            if (entries.putIfAbsent(key, loading) == null) {
+                loadingMarks.put(key, loading);
+            }
+        }
+        Map<K, V> loaded;
+        try {
+            loaded = loader.apply(missingKeys);
+        } catch (RuntimeException e) {
+            loadingMarks.forEach(entries::remove);
+            throw e;
+        }
+        var loadedAtNanos = System.nanoTime();
+        loadingMarks.forEach((key, loading) -> {
+            var value = loaded.get(key);
+            if (value == null || !entries.replace(key, loading, new Entry<>(copier.apply(value), loadedAtNanos))) {
+                entries.remove(key, loading);
+            }
+        });
+        evictIfFull();
+        values.putAll(loaded);
+        return values;
+    }
+
+    @Override
+    public Optional<V> findCached(K key) {
+        var cached = lookup(key);
+        if (cached.isPresent()) {
+            hits.increment();
+        }
+        return cached;
+    }
+
+    @Override
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    @Override
+    public EntityCacheStats stats() {
+        return new EntityCacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), entries.size());
+    }
+
+    private Optional<V> lookup(K key) {
+        var entry = entries.get(key);
+        if (entry == null || entry.isLoading()) {
+            return Optional.empty();
+        }
+        var now = System.nanoTime();
+        if (now - entry.loadedAtNanos > timeToLiveNanos) {
+            if (entries.remove(key, entry)) {
+                expirations.increment();
+            }
+            return Optional.empty();
+        }
+        entry.readAtNanos = now;
+        return Optional.of(copier.apply(entry.value));
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maximumSize || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            var excess = entries.size() - maximumSize + evictionBatchSize;
+            var candidates = new ArrayList<Candidate<K, V>>(entries.size());
+            entries.forEach((key, entry) -> {
+                if (!entry.isLoading()) {
+                    candidates.add(new Candidate<>(key, entry));
+                }
+            });
+            candidates.sort(Comparator.comparingLong(candidate -> candidate.readAtNanos));
+            for (int i = 0; i < Math.min(excess, candidates.size()); i++) {
+                var candidate = candidates.get(i);
+                if (entries.remove(candidate.key, candidate.entry)) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long loadedAtNanos;
+        private volatile long readAtNanos;
+
+        private Entry(V value, long loadedAtNanos) {
+            this.value = value;
+            this.loadedAtNanos = loadedAtNanos;
+            this.readAtNanos = loadedAtNanos;
+        }
+
+        private static <V> Entry<V> loading() {
+            return new Entry<>(null, System.nanoTime());
+        }
+
+        private boolean isLoading() {
+            return value == null;
+        }
+    }
+
+    /**
+     * Entry with its read time captured once, so concurrent reads cannot change the sort order while sorting.
+     */
+    private static final class Candidate<K, V> {
+
+        private final K key;
+        private final Entry<V> entry;
+        private final long readAtNanos;
+
+        private Candidate(K key, Entry<V> entry) {
+            this.key = key;
+            this.entry = entry;
+            this.readAtNanos = entry.readAtNanos;
+        }
+    }
+}
@@ -1,7 +1,311 @@
 package org.example.repository;
 
+import org.example.model.MyEntity;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Repository
 public class MyRepository {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final PlatformTransactionManager transactionManager;
+    private final TransactionDefinition readOnlyTransaction;
+    private final EntityCache<Long, MyEntity> cache;
+    private final int batchSize;
+
+    public MyRepository(EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager,
+                        EntityCache<Long, MyEntity> cache, @Value("${repository.batch-size:500}") int batchSize) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionManager = transactionManager;
+        var definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        this.readOnlyTransaction = definition;
+        this.cache = cache;
+        this.batchSize = batchSize;
+    }
+
+    public Optional<MyEntity> findById(Long id) {
+        return cache.findOrLoad(id, key -> inTransaction(entityManager ->
+                Optional.ofNullable(entityManager.find(MyEntity.class, key))));
+    }
+
+    /**
+     * @return the cached entity, or empty if it is not cached; does not query the database
+     */
+    public Optional<MyEntity> findCachedById(Long id) {
+        return cache.findCached(id);
+    }
+
+    /**
+     * Returns cached entities and loads the others by id with one {@code IN} query per {@code batchSize} ids.
+     * Ids without an entity are missing from the result.
+     */
+    public Map<Long, MyEntity> findAllByIds(Collection<Long> ids) {
+        return cache.findAllOrLoad(ids, this::loadAllByIds);
+    }
+
+    private Map<Long, MyEntity> loadAllByIds(List<Long> ids) {
+        var entities = new HashMap<Long, MyEntity>(ids.size() * 4 / 3 + 1);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            var chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            inTransaction(entityManager -> entityManager
+                    .createQuery("select e from MyEntity e where e.id in :ids", MyEntity.class)
+                    .setParameter("ids", chunk)
+                    .getResultList())
+                    .forEach(entity -> entities.put(entity.getId(), entity));
+        }
+        return entities;
+    }
+
+    /**
+     * Reads the page following the request's position using a seek predicate on the sort key and id,
+     * so the cost does not grow with page depth. Returns up to {@code size + 1} entities; the extra one
+     * only signals that another page exists.
+     */
+    public List<MyEntity> findPage(KeysetPageRequest request) {
+        return inTransaction(entityManager -> {
+            TypedQuery<MyEntity> query;
+            if (request.getSortKey() == KeysetPageRequest.SortKey.NAME) {
+                query = request.isFirstPage()
+                        ? entityManager.createQuery("select e from MyEntity e order by e.name, e.id", MyEntity.class)
+                        : entityManager.createQuery("select e from MyEntity e"
+                                + " where e.name > :name or (e.name = :name and e.id > :id)"
+                                + " order by e.name, e.id", MyEntity.class)
+                        .setParameter("name", request.getAfterSortValue())
+                        .setParameter("id", request.getAfterId());
+            } else {
+                query = request.isFirstPage()
+                        ? entityManager.createQuery("select e from MyEntity e order by e.id", MyEntity.class)
+                        : entityManager.createQuery("select e from MyEntity e where e.id > :id order by e.id",
+                                MyEntity.class)
+                        .setParameter("id", request.getAfterId());
+            }
+            return query.setMaxResults(request.getSize() + 1).getResultList();
+        });
+    }
+
+    public MyEntity save(MyEntity entity) {
+        var saved = inTransaction(entityManager -> entityManager.merge(entity));
+        invalidateOnCompletion(List.of(saved.getId()));
+        return saved;
+    }
+
+    /**
+     * Saves entities in JDBC batches of {@code repository.batch-size}, one transaction per batch.
+     * The persistence context is cleared after every batch, so memory does not grow with the number of entities.
+     * A failing batch is rolled back and reported for each of its entities; later batches are still written.
+     * Must not be called in a transaction: batches would join it, so a failing batch would roll back every other,
+     * and clearing would detach the caller's entities.
+     *
+     * @throws IllegalStateException if a transaction is active
+     */
+    public BatchWriteResult saveAll(Collection<MyEntity> entities) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("saveAll writes one transaction per batch and must not run in a transaction");
+        }
+        var results = new WriteResult[entities.size()];
+        var batch = new ArrayList<MyEntity>(Math.min(batchSize, entities.size()));
+        var batchStart = 0;
+        for (MyEntity entity : entities) {
+            batch.add(entity);
+            if (batch.size() == batchSize) {
+                writeBatch(batch, results, batchStart);
+                batchStart += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, results, batchStart);
+        }
+        return new BatchWriteResult(results);
+    }
+
+    /**
+     * Streams all entities ordered by id over a forward-only cursor fetching {@code fetchSize} rows at a time.
+     * Entities are read-only and the session is cleared every {@code fetchSize} rows, so memory stays constant.
+     * The cursor is read in a read-only transaction, joining the caller's if there is one, so it is served by a
+     * replica. The returned stream holds that transaction and a database connection; it must be consumed and closed
+     * on the calling thread, e.g. with try-with-resources.
+     */
+    public Stream<MyEntity> streamAll(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive but was " + fetchSize);
+        }
+        var transaction = transactionManager.getTransaction(readOnlyTransaction);
+        try {
+            var session = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory)
+                    .unwrap(Session.class);
+            var results = session.createQuery("select e from MyEntity e order by e.id", MyEntity.class)
+                    .setFetchSize(fetchSize)
+                    .setReadOnly(true)
+                    .setCacheMode(CacheMode.IGNORE)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+            return StreamSupport.stream(new ScrollingSpliterator(session, results, fetchSize), false)
+                    .onClose(() -> {
+                        try {
+                            results.close();
+                        } finally {
+                            transactionManager.commit(transaction);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            transactionManager.rollback(transaction);
+            throw e;
+        }
+    }
+
+    public void delete(Long id) {
+        inTransaction(entityManager -> {
+            var entity = entityManager.find(MyEntity.class, id);
+            if (entity != null) {
+                entityManager.remove(entity);
+            }
+            return entity;
+        });
+        invalidateOnCompletion(List.of(id));
+    }
+
+    public EntityCacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Entities persisted by a batch that is rolled back get their identity cleared again, so they are inserted
+     * when saved the next time instead of being merged under an id that does not exist.
+     */
+    private void writeBatch(List<MyEntity> batch, WriteResult[] results, int batchStart) {
+        var newEntities = new ArrayList<MyEntity>();
+        for (MyEntity entity : batch) {
+            if (entity.getId() == null) {
+                newEntities.add(entity);
+            }
+        }
+        try {
+            var saved = inTransaction(entityManager -> {
+                var savedEntities = new ArrayList<MyEntity>(batch.size());
+                for (MyEntity entity : batch) {
+                    if (entity.getId() == null) {
+                        entityManager.persist(entity);
+                        savedEntities.add(entity);
+                    } else {
+                        savedEntities.add(entityManager.merge(entity));
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return savedEntities;
+            });
+            var savedIds = new ArrayList<Long>(saved.size());
+            for (int i = 0; i < saved.size(); i++) {
+                savedIds.add(saved.get(i).getId());
+                results[batchStart + i] = WriteResult.saved(saved.get(i).getId());
+            }
+            invalidateOnCompletion(savedIds);
+        } catch (PersistenceException e) {
+            newEntities.forEach(MyEntity::clearIdentity);
+            for (int i = 0; i < batch.size(); i++) {
+                results[batchStart + i] = WriteResult.failed(e);
+            }
+        } catch (RuntimeException e) {
+            newEntities.forEach(MyEntity::clearIdentity);
+            throw e;
+        }
+    }
+
+    /**
+     * Invalidates written entities now and, when the write joined the caller's transaction, again once that
+     * transaction completes, so a value loaded from the old row in the meantime is not served until it expires.
+     */
+    private void invalidateOnCompletion(Collection<Long> ids) {
+        ids.forEach(cache::invalidate);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ids.forEach(cache::invalidate);
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs {@code work} in the Spring-managed transaction of the caller if there is one,
+     * otherwise in a new resource-local transaction.
+     */
+    private <T> T inTransaction(Function<EntityManager, T> work) {
+        var transactionalEntityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (transactionalEntityManager != null) {
+            return work.apply(transactionalEntityManager);
+        }
+        var entityManager = entityManagerFactory.createEntityManager();
+        var transaction = entityManager.getTransaction();
+        try {
+            transaction.begin();
+            var result = work.apply(entityManager);
+            transaction.commit();
+            return result;
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static final class ScrollingSpliterator extends Spliterators.AbstractSpliterator<MyEntity> {
+
+        private final Session session;
+        private final ScrollableResults results;
+        private final int clearInterval;
+        private long rowsRead;
+
+        private ScrollingSpliterator(Session session, ScrollableResults results, int clearInterval) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.session = session;
+            this.results = results;
+            this.clearInterval = clearInterval;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super MyEntity> action) {
+            if (!results.next()) {
+                return false;
+            }
+            if (rowsRead > 0 && rowsRead % clearInterval == 0) {
+                session.clear();
+            }
+            rowsRead++;
+            action.accept((MyEntity) results.get(0));
+            return true;
+        }
+    }
 }
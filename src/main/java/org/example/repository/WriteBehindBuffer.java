@@ -0,0 +1,144 @@
+package org.example.repository;
+
+import org.example.model.MyEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects single writes and saves them through {@link MyRepository#saveAll} once {@code batchSize} writes
+ * are pending or the oldest pending write waited {@code maxFlushDelay}. Batches are written one at a time
+ * on a dedicated thread. At most {@code capacity} writes are pending or being saved; further writes block until
+ * a batch is saved, so writers faster than the database are slowed down instead of filling the heap.
+ * Writes after {@link #close()} fail with an {@link IllegalStateException}.
+ */
+public class WriteBehindBuffer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    private final MyRepository repository;
+    private final int batchSize;
+    private final long maxFlushDelayNanos;
+    private final Semaphore capacity;
+    private final ScheduledThreadPoolExecutor flusher;
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<PendingWrite> pending = new ArrayList<>();
+    private boolean closed;
+
+    public WriteBehindBuffer(MyRepository repository, int batchSize, int capacity, Duration maxFlushDelay) {
+        if (capacity < batchSize) {
+            throw new IllegalArgumentException(
+                    "Capacity " + capacity + " must be at least the batch size " + batchSize);
+        }
+        this.repository = repository;
+        this.batchSize = batchSize;
+        this.maxFlushDelayNanos = maxFlushDelay.toNanos();
+        this.capacity = new Semaphore(capacity);
+        this.flusher = new ScheduledThreadPoolExecutor(1, runnable -> {
+            var thread = new Thread(runnable, "write-behind-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // close() flushes what is pending itself, so it does not wait for delayed flushes
+        this.flusher.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Blocks while {@code capacity} writes are pending or being saved. The returned future fails with an
+     * {@link InterruptedException} if the caller is interrupted while waiting.
+     */
+    public CompletableFuture<WriteResult> write(MyEntity entity) {
+        try {
+            capacity.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        var write = new PendingWrite(entity);
+        lock.lock();
+        try {
+            if (closed) {
+                capacity.release();
+                return CompletableFuture.failedFuture(new IllegalStateException("Write-behind buffer is closed"));
+            }
+            pending.add(write);
+            if (pending.size() == 1) {
+                flusher.schedule(this::flush, maxFlushDelayNanos, TimeUnit.NANOSECONDS);
+            }
+            if (pending.size() == batchSize) {
+                flusher.execute(this::flush);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return write.result;
+    }
+
+    public void flush() {
+        List<PendingWrite> batch;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>(batchSize);
+        } finally {
+            lock.unlock();
+        }
+
+        var entities = new ArrayList<MyEntity>(batch.size());
+        batch.forEach(write -> entities.add(write.entity));
+        try {
+            var results = repository.saveAll(entities);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.error("Write-behind flush of {} entities failed", batch.size(), e);
+            batch.forEach(write -> write.result.completeExceptionally(e));
+        } finally {
+            capacity.release(batch.size());
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        flusher.execute(this::flush);
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Write-behind flusher did not finish pending writes within a minute");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class PendingWrite {
+
+        private final MyEntity entity;
+        private final CompletableFuture<WriteResult> result = new CompletableFuture<>();
+
+        private PendingWrite(MyEntity entity) {
+            this.entity = entity;
+        }
+    }
+}
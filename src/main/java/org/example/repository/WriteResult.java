@@ -0,0 +1,48 @@
+package org.example.repository;
+
+/**
+ * Outcome of writing a single entity as part of a batch.
+ */
+public class WriteResult {
+
+    private final boolean successful;
+    private final Long id;
+    private final String error;
+
+    private WriteResult(boolean successful, Long id, String error) {
+        this.successful = successful;
+        this.id = id;
+        this.error = error;
+    }
+
+    static WriteResult saved(Long id) {
+        return new WriteResult(true, id, null);
+    }
+
+    static WriteResult failed(Exception cause) {
+        return new WriteResult(false, null, cause.getMessage() != null ? cause.getMessage() : cause.toString());
+    }
+
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    /**
+     * @return id of the saved entity, {@code null} when the write failed
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return reason of the failure, {@code null} when the write succeeded
+     */
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccessful() ? "WriteResult{id=" + id + "}" : "WriteResult{error='" + error + "'}";
+    }
+}
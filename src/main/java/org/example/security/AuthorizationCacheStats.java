@@ -0,0 +1,56 @@
+package org.example.security;
+
+public class AuthorizationCacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long uncacheable;
+    private final long evaluationNanos;
+    private final int size;
+
+    AuthorizationCacheStats(long hits, long misses, long uncacheable, long evaluationNanos, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.uncacheable = uncacheable;
+        this.evaluationNanos = evaluationNanos;
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return decisions that were evaluated without the cache, e.g. for methods with {@code @PreFilter}
+     */
+    public long getUncacheable() {
+        return uncacheable;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public double getHitRatio() {
+        var requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    /**
+     * @return average time of evaluating an expression, over misses and uncacheable decisions
+     */
+    public double getAverageEvaluationMicros() {
+        var evaluations = misses + uncacheable;
+        return evaluations == 0 ? 0 : evaluationNanos / 1_000.0 / evaluations;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthorizationCacheStats{hits=" + hits + ", misses=" + misses + ", uncacheable=" + uncacheable
+                + ", averageEvaluationMicros=" + getAverageEvaluationMicros() + ", size=" + size + "}";
+    }
+}
@@ -0,0 +1,328 @@
+package org.example.security;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.access.prepost.PreFilter;
+import org.springframework.security.access.prepost.PreInvocationAttribute;
+import org.springframework.security.access.prepost.PreInvocationAuthorizationAdvice;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.parameters.DefaultSecurityParameterNameDiscoverer;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Caches {@code @PreAuthorize} decisions of {@code delegate} per principal, authentication, method and the arguments
+ * the expression refers to. Decisions live for {@code timeToLive}; beyond {@code maximumSize} one caller evicts
+ * expired decisions and then the oldest ones, so hits never lock or write. Methods with {@code @PreFilter} modify
+ * their arguments, and expressions reading anything besides authorities and arguments, e.g. {@code principal.*},
+ * {@code authentication.details} or {@code @bean.check(..)}, may depend on state outside the key; they are never
+ * cached. Call {@link #invalidate(String)} or {@link #invalidateAll()} when permissions change without a change
+ * of authorities, e.g. when a role is redefined.
+ */
+public class CachingPreInvocationAdvice implements PreInvocationAuthorizationAdvice {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern IDENTIFIER = Pattern.compile("([#@]?)([A-Za-z_$][A-Za-z0-9_$]*)");
+    /**
+     * Functions and operators of {@code @PreAuthorize} expressions that only read the key's authorities
+     * and authentication type.
+     */
+    private static final Set<String> CACHEABLE_IDENTIFIERS = Set.of("hasRole", "hasAnyRole", "hasAuthority",
+            "hasAnyAuthority", "isAuthenticated", "isAnonymous", "isRememberMe", "isFullyAuthenticated", "permitAll",
+            "denyAll", "and", "or", "not", "eq", "ne", "lt", "gt", "le", "ge", "true", "false", "null");
+
+    private final PreInvocationAuthorizationAdvice delegate;
+    private final int maximumSize;
+    private final int evictionBatchSize;
+    private final long timeToLiveNanos;
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultSecurityParameterNameDiscoverer();
+    private final Map<Method, MethodPolicy> policies = new ConcurrentHashMap<>();
+    private final Map<DecisionKey, Decision> decisions = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder uncacheable = new LongAdder();
+    private final LongAdder evaluationNanos = new LongAdder();
+
+    public CachingPreInvocationAdvice(PreInvocationAuthorizationAdvice delegate, int maximumSize, Duration timeToLive) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive but was " + maximumSize);
+        }
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.evictionBatchSize = Math.max(1, maximumSize / 10);
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    @Override
+    public boolean before(Authentication authentication, MethodInvocation invocation, PreInvocationAttribute attribute) {
+        var target = invocation.getThis();
+        var method = AopUtils.getMostSpecificMethod(invocation.getMethod(),
+                target == null ? invocation.getMethod().getDeclaringClass() : AopUtils.getTargetClass(target));
+        var policy = policies.computeIfAbsent(method, this::policyOf);
+        if (authentication == null || !policy.cacheable) {
+            uncacheable.increment();
+            return evaluate(authentication, invocation, attribute);
+        }
+
+        var key = new DecisionKey(authentication, method, policy.relevantArguments(invocation.getArguments()));
+        var cached = findCached(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        var pending = Decision.pending();
+        var marked = decisions.putIfAbsent(key, pending) == null;
+        boolean granted;
+        try {
+            granted = evaluate(authentication, invocation, attribute);
+        } catch (RuntimeException e) {
+            if (marked) {
+                decisions.remove(key, pending);
+            }
+            throw e;
+        }
+        if (marked && !decisions.replace(key, pending, new Decision(granted, System.nanoTime()))) {
+            decisions.remove(key, pending);
+        }
+        evictIfFull();
+        return granted;
+    }
+
+    /**
+     * Drops all decisions cached for the principal named {@code principalName}, including those being evaluated.
+     */
+    public void invalidate(String principalName) {
+        decisions.keySet().removeIf(key -> key.principalName.equals(principalName));
+    }
+
+    public void invalidateAll() {
+        decisions.clear();
+    }
+
+    public AuthorizationCacheStats stats() {
+        return new AuthorizationCacheStats(hits.sum(), misses.sum(), uncacheable.sum(), evaluationNanos.sum(),
+                decisions.size());
+    }
+
+    private boolean evaluate(Authentication authentication, MethodInvocation invocation,
+                             PreInvocationAttribute attribute) {
+        var start = System.nanoTime();
+        try {
+            return delegate.before(authentication, invocation, attribute);
+        } finally {
+            evaluationNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private Boolean findCached(DecisionKey key) {
+        var decision = decisions.get(key);
+        if (decision == null || decision.pending) {
+            return null;
+        }
+        if (System.nanoTime() - decision.evaluatedAtNanos > timeToLiveNanos) {
+            decisions.remove(key, decision);
+            return null;
+        }
+        return decision.granted;
+    }
+
+    private void evictIfFull() {
+        if (decisions.size() <= maximumSize || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            var now = System.nanoTime();
+            decisions.entrySet().removeIf(entry -> !entry.getValue().pending
+                    && now - entry.getValue().evaluatedAtNanos > timeToLiveNanos);
+            var excess = decisions.size() - maximumSize + evictionBatchSize;
+            if (excess <= evictionBatchSize) {
+                return;
+            }
+            var oldest = decisions.entrySet().stream()
+                    .filter(entry -> !entry.getValue().pending)
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().evaluatedAtNanos))
+                    .limit(excess)
+                    .collect(Collectors.toList());
+            oldest.forEach(entry -> decisions.remove(entry.getKey(), entry.getValue()));
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Finds the arguments the method's {@code @PreAuthorize} expression refers to by name. Without an expression
+     * the decision is always a grant and no argument is part of the key. Expressions referring to beans,
+     * {@code #root}, {@code #this}, variables that are not parameter names or anything but the functions in
+     * {@link #CACHEABLE_IDENTIFIERS} are not cached.
+     */
+    private MethodPolicy policyOf(Method method) {
+        if (AnnotatedElementUtils.hasAnnotation(method, PreFilter.class)
+                || AnnotatedElementUtils.hasAnnotation(method.getDeclaringClass(), PreFilter.class)) {
+            return MethodPolicy.UNCACHEABLE;
+        }
+        var preAuthorize = AnnotatedElementUtils.findMergedAnnotation(method, PreAuthorize.class);
+        if (preAuthorize == null) {
+            preAuthorize = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), PreAuthorize.class);
+        }
+        if (preAuthorize == null) {
+            return MethodPolicy.NO_ARGUMENTS;
+        }
+        var parameterNames = parameterNameDiscoverer.getParameterNames(method);
+        var parameterIndexes = new HashMap<String, Integer>();
+        for (int i = 0; parameterNames != null && i < parameterNames.length; i++) {
+            parameterIndexes.put(parameterNames[i], i);
+        }
+        var expression = STRING_LITERAL.matcher(preAuthorize.value()).replaceAll("''");
+        var referenced = new ArrayList<Integer>();
+        var matcher = IDENTIFIER.matcher(expression);
+        while (matcher.find()) {
+            var prefix = matcher.group(1);
+            var identifier = matcher.group(2);
+            if (isPropertyOrNumber(expression, matcher.start())) {
+                continue;
+            }
+            if (prefix.equals("@")) {
+                return MethodPolicy.UNCACHEABLE;
+            }
+            if (prefix.isEmpty() && !CACHEABLE_IDENTIFIERS.contains(identifier)) {
+                return MethodPolicy.UNCACHEABLE;
+            }
+            if (prefix.equals("#")) {
+                var index = parameterIndexes.get(identifier);
+                if (index == null || identifier.equals("root") || identifier.equals("this")) {
+                    return MethodPolicy.UNCACHEABLE;
+                }
+                referenced.add(index);
+            }
+        }
+        return new MethodPolicy(true, referenced.stream().distinct().sorted().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * @return whether the identifier starting at {@code start} follows a {@code .}, i.e. is a property or method
+     * of a value already accounted for, or continues a number such as {@code 1e5}
+     */
+    private static boolean isPropertyOrNumber(String expression, int start) {
+        var previous = start - 1;
+        if (previous >= 0 && Character.isLetterOrDigit(expression.charAt(previous))) {
+            return true;
+        }
+        while (previous >= 0 && Character.isWhitespace(expression.charAt(previous))) {
+            previous--;
+        }
+        return previous >= 0 && expression.charAt(previous) == '.';
+    }
+
+    private static final class MethodPolicy {
+
+        private static final MethodPolicy UNCACHEABLE = new MethodPolicy(false, new int[0]);
+        private static final MethodPolicy NO_ARGUMENTS = new MethodPolicy(true, new int[0]);
+
+        private final boolean cacheable;
+        private final int[] relevantArgumentIndexes;
+
+        private MethodPolicy(boolean cacheable, int[] relevantArgumentIndexes) {
+            this.cacheable = cacheable;
+            this.relevantArgumentIndexes = relevantArgumentIndexes;
+        }
+
+        private List<Object> relevantArguments(Object[] arguments) {
+            var relevant = new ArrayList<>(relevantArgumentIndexes.length);
+            for (int index : relevantArgumentIndexes) {
+                relevant.add(arguments[index]);
+            }
+            return relevant;
+        }
+    }
+
+    private static final class DecisionKey {
+
+        private final String principalName;
+        private final Class<?> authenticationType;
+        private final boolean authenticated;
+        private final Set<String> authorities;
+        private final Method method;
+        private final List<Object> arguments;
+        private final int hashCode;
+
+        /**
+         * The authentication type and flag decide {@code isAnonymous()}, {@code isRememberMe()} and
+         * {@code isAuthenticated()}.
+         */
+        private DecisionKey(Authentication authentication, Method method, List<Object> arguments) {
+            this.principalName = authentication.getName();
+            this.authenticationType = authentication.getClass();
+            this.authenticated = authentication.isAuthenticated();
+            this.authorities = authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.toUnmodifiableSet());
+            this.method = method;
+            this.arguments = arguments;
+            this.hashCode = Objects.hash(principalName, authenticationType, authenticated, authorities, method,
+                    arguments);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DecisionKey)) {
+                return false;
+            }
+            DecisionKey that = (DecisionKey) o;
+            return hashCode == that.hashCode && principalName.equals(that.principalName)
+                    && authenticationType.equals(that.authenticationType) && authenticated == that.authenticated
+                    && authorities.equals(that.authorities) && method.equals(that.method)
+                    && arguments.equals(that.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * A pending decision marks a key being evaluated; invalidation removes the mark, so the result is then not cached.
+     */
+    private static final class Decision {
+
+        private final boolean granted;
+        private final boolean pending;
+        private final long evaluatedAtNanos;
+
+        private Decision(boolean granted, long evaluatedAtNanos) {
+            this(granted, false, evaluatedAtNanos);
+        }
+
+        private Decision(boolean granted, boolean pending, long evaluatedAtNanos) {
+            this.granted = granted;
+            this.pending = pending;
+            this.evaluatedAtNanos = evaluatedAtNanos;
+        }
+
+        private static Decision pending() {
+            return new Decision(false, true, System.nanoTime());
+        }
+    }
+}
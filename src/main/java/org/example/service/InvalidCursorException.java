@@ -0,0 +1,11 @@
+package org.example.service;
+
+/**
+ * Page cursor that was not produced by {@link MyService#findPage}, e.g. truncated or edited by the client.
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+    InvalidCursorException(String cursor, Throwable cause) {
+        super("Invalid page cursor " + cursor, cause);
+    }
+}
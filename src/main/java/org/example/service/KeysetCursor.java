@@ -0,0 +1,35 @@
+package org.example.service;
+
+import org.example.repository.KeysetPageRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque, URL-safe encoding of a keyset position: sort key, sort value of the last item and its id.
+ */
+final class KeysetCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private KeysetCursor() {
+    }
+
+    static String encode(KeysetPageRequest.SortKey sortKey, String sortValue, long id) {
+        var position = sortKey.name() + SEPARATOR + id + SEPARATOR + (sortValue == null ? "" : sortValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetPageRequest decode(String cursor, int size) {
+        try {
+            var position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var sortKeyEnd = position.indexOf(SEPARATOR);
+            var idEnd = position.indexOf(SEPARATOR, sortKeyEnd + 1);
+            var sortKey = KeysetPageRequest.SortKey.valueOf(position.substring(0, sortKeyEnd));
+            var id = Long.parseLong(position.substring(sortKeyEnd + 1, idEnd));
+            return KeysetPageRequest.after(sortKey, position.substring(idEnd + 1), id, size);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException(cursor, e);
+        }
+    }
+}
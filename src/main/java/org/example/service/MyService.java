@@ -1,7 +1,82 @@
 package org.example.service;
 
+import org.example.dto.EntitySort;
+import org.example.dto.KeysetPage;
+import org.example.dto.MyEntityDto;
+import org.example.mapper.MyEntityMapper;
+import org.example.model.MyEntity;
+import org.example.repository.KeysetPageRequest;
+import org.example.repository.MyRepository;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @Service
 public class MyService {
+
+    private final MyRepository myRepository;
+    private final RequestCoalescer<Long, MyEntity> entityLookups;
+    private final MyEntityMapper myEntityMapper;
+
+    public MyService(MyRepository myRepository, RequestCoalescer<Long, MyEntity> entityLookups,
+                     MyEntityMapper myEntityMapper) {
+        this.myRepository = myRepository;
+        this.entityLookups = entityLookups;
+        this.myEntityMapper = myEntityMapper;
+    }
+
+    /**
+     * Cached entities are returned immediately; lookups of the others arriving within the coalescing window
+     * are answered by a single query.
+     */
+    public CompletableFuture<Optional<MyEntityDto>> findById(long id) {
+        var cached = myRepository.findCachedById(id);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.map(myEntityMapper::toDto));
+        }
+        return entityLookups.load(id).thenApply(entity -> entity.map(myEntityMapper::toDto));
+    }
+
+    /**
+     * @param cursor cursor returned with the previous page, {@code null} or blank for the first page
+     * @param sort   sort order of the first page; following pages keep the order stored in the cursor
+     * @throws InvalidCursorException if {@code cursor} was not returned with a previous page
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<MyEntityDto> findPage(String cursor, EntitySort sort, int size) {
+        var request = cursor == null || cursor.isBlank()
+                ? KeysetPageRequest.first(KeysetPageRequest.SortKey.valueOf(sort.name()), size)
+                : KeysetCursor.decode(cursor, size);
+        var entities = myRepository.findPage(request);
+
+        var items = myEntityMapper.toDtos(entities.subList(0, Math.min(entities.size(), size)));
+        String nextCursor = null;
+        if (entities.size() > size) {
+            var last = entities.get(size - 1);
+            var sortValue = request.getSortKey() == KeysetPageRequest.SortKey.NAME ? last.getName() : null;
+            nextCursor = KeysetCursor.encode(request.getSortKey(), sortValue, last.getId());
+        }
+        return new KeysetPage<>(items, nextCursor);
+    }
+
+    /**
+     * {@link #findPage} on the bounded IO executor, for callers fanning out several page reads.
+     */
+    @Async("ioExecutor")
+    @Transactional(readOnly = true)
+    public CompletableFuture<KeysetPage<MyEntityDto>> findPageAsync(String cursor, EntitySort sort, int size) {
+        return CompletableFuture.completedFuture(findPage(cursor, sort, size));
+    }
+
+    /**
+     * Streams all entities without loading them into memory. The stream holds a database cursor
+     * and must be closed.
+     */
+    public Stream<MyEntityDto> streamAll(int fetchSize) {
+        return myRepository.streamAll(fetchSize).map(myEntityMapper::toDto);
+    }
 }
@@ -0,0 +1,149 @@
+package org.example.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Collects single-key lookups and resolves them with one call to {@code batchLoader} once {@code maxBatchSize}
+ * distinct keys are pending or the oldest pending lookup waited {@code window}. Concurrent lookups of the same key
+ * share one load. Batches are loaded on {@code loadExecutor}. Lookups after {@link #close()} fail.
+ */
+public class RequestCoalescer<K, V> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    private final Function<Set<K>, Map<K, V>> batchLoader;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final Executor loadExecutor;
+    private final ScheduledExecutorService timer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<K, CompletableFuture<Optional<V>>> pending = new LinkedHashMap<>();
+    private long batchNumber;
+    private boolean closed;
+
+    public RequestCoalescer(Function<Set<K>, Map<K, V>> batchLoader, int maxBatchSize, Duration window,
+                            Executor loadExecutor) {
+        this(batchLoader, maxBatchSize, window, loadExecutor, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "request-coalescer-timer");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * @param timer schedules the end of every window; shut down by {@link #close()}
+     */
+    RequestCoalescer(Function<Set<K>, Map<K, V>> batchLoader, int maxBatchSize, Duration window,
+                     Executor loadExecutor, ScheduledExecutorService timer) {
+        this.batchLoader = batchLoader;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+        this.loadExecutor = loadExecutor;
+        this.timer = timer;
+    }
+
+    public CompletableFuture<Optional<V>> load(K key) {
+        CompletableFuture<Optional<V>> result;
+        Map<K, CompletableFuture<Optional<V>>> fullBatch = null;
+        lock.lock();
+        try {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Request coalescer is closed"));
+            }
+            result = pending.get(key);
+            if (result == null) {
+                result = new CompletableFuture<>();
+                pending.put(key, result);
+                if (pending.size() == 1) {
+                    var windowBatch = batchNumber;
+                    timer.schedule(() -> dispatchWindow(windowBatch), windowNanos, TimeUnit.NANOSECONDS);
+                }
+                if (pending.size() >= maxBatchSize) {
+                    fullBatch = takePending();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        return result.copy();
+    }
+
+    @Override
+    public void close() {
+        Map<K, CompletableFuture<Optional<V>>> batch;
+        lock.lock();
+        try {
+            closed = true;
+            batch = takePending();
+        } finally {
+            lock.unlock();
+        }
+        timer.shutdownNow();
+        dispatch(batch);
+    }
+
+    /**
+     * Dispatches the batch whose window started the timer, unless it was already dispatched because it was full;
+     * the window of the following batch starts with its own first lookup.
+     */
+    private void dispatchWindow(long windowBatch) {
+        Map<K, CompletableFuture<Optional<V>>> batch;
+        lock.lock();
+        try {
+            if (windowBatch != batchNumber) {
+                return;
+            }
+            batch = takePending();
+        } finally {
+            lock.unlock();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<K, CompletableFuture<Optional<V>>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            loadExecutor.execute(() -> loadBatch(batch));
+        } catch (RejectedExecutionException e) {
+            log.warn("Load of {} coalesced keys was rejected", batch.size(), e);
+            batch.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    private void loadBatch(Map<K, CompletableFuture<Optional<V>>> batch) {
+        try {
+            var values = batchLoader.apply(batch.keySet());
+            batch.forEach((key, result) -> result.complete(Optional.ofNullable(values.get(key))));
+        } catch (RuntimeException e) {
+            log.error("Load of {} coalesced keys failed", batch.size(), e);
+            batch.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    private Map<K, CompletableFuture<Optional<V>>> takePending() {
+        var batch = pending;
+        pending = new LinkedHashMap<>();
+        batchNumber++;
+        return batch;
+    }
+}
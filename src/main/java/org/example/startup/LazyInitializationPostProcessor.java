@@ -0,0 +1,57 @@
+package org.example.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * With {@code startup.lazy-initialization=true}, defers creation of singleton controllers, services and repositories
+ * until they are first used. Beans that must be ready at startup opt out with {@code @Lazy(false)}.
+ */
+public class LazyInitializationPostProcessor implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    static final String ENABLED_PROPERTY = "startup.lazy-initialization";
+
+    private static final Logger log = LoggerFactory.getLogger(LazyInitializationPostProcessor.class);
+    private static final List<String> LAZY_PACKAGES = List.of("controller", "service", "repository");
+
+    private boolean enabled;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        enabled = environment.getProperty(ENABLED_PROPERTY, Boolean.class, false);
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        if (!enabled) {
+            return;
+        }
+        int lazyBeans = 0;
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            var beanDefinition = beanFactory.getBeanDefinition(beanName);
+            if (beanDefinition instanceof AbstractBeanDefinition
+                    && ((AbstractBeanDefinition) beanDefinition).getLazyInit() == null
+                    && beanDefinition.isSingleton()
+                    && isInLazyPackage(beanDefinition.getBeanClassName())) {
+                beanDefinition.setLazyInit(true);
+                lazyBeans++;
+            }
+        }
+        log.info("Deferred initialization of {} beans", lazyBeans);
+    }
+
+    private boolean isInLazyPackage(String className) {
+        if (className == null || className.lastIndexOf('.') < 0) {
+            return false;
+        }
+        var packageSegments = List.of(className.substring(0, className.lastIndexOf('.')).split("\\."));
+        return LAZY_PACKAGES.stream().anyMatch(packageSegments::contains);
+    }
+}
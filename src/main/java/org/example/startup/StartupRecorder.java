@@ -0,0 +1,191 @@
+package org.example.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the creation time of every bean while the application context starts.
+ * Creating a bean includes creating the beans it depends on, so each bean is reported with its total time
+ * and its self time, which excludes nested bean creations. Recording stops with {@link #report(Path)};
+ * beans created later, e.g. lazy ones, are not measured.
+ */
+public class StartupRecorder implements ApplicationStartup {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupRecorder.class);
+
+    private static final String BEAN_INSTANTIATION_STEP = "spring.beans.instantiate";
+    private static final String BEAN_NAME_TAG = "beanName";
+    private static final int LOGGED_BEANS = 10;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final long startNanos = System.nanoTime();
+    private final Deque<RecordingStep> activeSteps = new ArrayDeque<>();
+    private final List<BeanTiming> beanTimings = new ArrayList<>();
+    private long nextStepId;
+    private boolean recording = true;
+
+    @Override
+    public synchronized StartupStep start(String name) {
+        if (!recording) {
+            return ApplicationStartup.DEFAULT.start(name);
+        }
+        var parent = activeSteps.peek();
+        var step = new RecordingStep(nextStepId++, name, parent == null ? null : parent.id);
+        activeSteps.push(step);
+        return step;
+    }
+
+    /**
+     * Stops recording, logs the beans with the longest self time and writes all bean timings sorted
+     * by self time to {@code reportFile}.
+     */
+    public synchronized void report(Path reportFile) {
+        recording = false;
+        var elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        beanTimings.sort(Comparator.comparingLong((BeanTiming timing) -> timing.selfNanos).reversed());
+
+        log.info("Started {} beans in {} ms, slowest by self time:", beanTimings.size(), elapsedMillis);
+        beanTimings.stream().limit(LOGGED_BEANS).forEach(timing -> log.info("  {}", timing));
+
+        var lines = new ArrayList<String>(beanTimings.size() + 1);
+        lines.add("self_ms\ttotal_ms\tbean");
+        beanTimings.forEach(timing -> lines.add(String.format(Locale.ROOT, "%.3f\t%.3f\t%s",
+                timing.selfNanos / NANOS_PER_MILLI, timing.totalNanos / NANOS_PER_MILLI, timing.beanName)));
+        try {
+            if (reportFile.getParent() != null) {
+                Files.createDirectories(reportFile.getParent());
+            }
+            Files.write(reportFile, lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write startup report " + reportFile, e);
+        }
+    }
+
+    private synchronized void end(RecordingStep step) {
+        var totalNanos = System.nanoTime() - step.startNanos;
+        activeSteps.remove(step);
+        var parent = activeSteps.peek();
+        if (parent != null) {
+            parent.childNanos += totalNanos;
+        }
+        if (recording && BEAN_INSTANTIATION_STEP.equals(step.name)) {
+            beanTimings.add(new BeanTiming(step.tagValue(BEAN_NAME_TAG), totalNanos, totalNanos - step.childNanos));
+        }
+    }
+
+    private final class RecordingStep implements StartupStep {
+
+        private final long id;
+        private final String name;
+        private final Long parentId;
+        private final long startNanos = System.nanoTime();
+        private final List<Tag> tags = new ArrayList<>();
+        private long childNanos;
+
+        private RecordingStep(long id, String name, Long parentId) {
+            this.id = id;
+            this.name = name;
+            this.parentId = parentId;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getParentId() {
+            return parentId;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            tags.add(new RecordedTag(key, value));
+            return this;
+        }
+
+        @Override
+        public StartupStep tag(String key, Supplier<String> value) {
+            return tag(key, value.get());
+        }
+
+        @Override
+        public Tags getTags() {
+            return tags::iterator;
+        }
+
+        @Override
+        public void end() {
+            StartupRecorder.this.end(this);
+        }
+
+        private String tagValue(String key) {
+            for (Tag tag : tags) {
+                if (tag.getKey().equals(key)) {
+                    return tag.getValue();
+                }
+            }
+            return name;
+        }
+    }
+
+    private static final class RecordedTag implements StartupStep.Tag {
+
+        private final String key;
+        private final String value;
+
+        private RecordedTag(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+    }
+
+    private static final class BeanTiming {
+
+        private final String beanName;
+        private final long totalNanos;
+        private final long selfNanos;
+
+        private BeanTiming(String beanName, long totalNanos, long selfNanos) {
+            this.beanName = beanName;
+            this.totalNanos = totalNanos;
+            this.selfNanos = selfNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s: %.1f ms self, %.1f ms total", beanName,
+                    selfNanos / NANOS_PER_MILLI, totalNanos / NANOS_PER_MILLI);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.example;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Registered for all tests through {@code META-INF/services}. Tells {@link RuleRunner} which test is checking
+ * rules and writes the reports once the whole test run has finished, which unlike a shutdown hook is guaranteed
+ * to happen before the test JVM exits. Class file snapshots become the baseline of the next run only if no test
+ * failed and no rule was violated.
+ */
+public class ArchitectureRunExtension implements BeforeAllCallback, BeforeTestExecutionCallback,
+        AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(
+            ArchitectureRunExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        testRun(context);
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        RuleRunner.startTest(context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        RuleRunner.finishTest();
+        if (context.getExecutionException().isPresent()) {
+            testRun(context).failed = true;
+        }
+    }
+
+    private static TestRun testRun(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(TestRun.class);
+    }
+
+    /**
+     * Closed by JUnit after the last test of the run.
+     */
+    static final class TestRun implements ExtensionContext.Store.CloseableResource {
+
+        private volatile boolean failed;
+
+        @Override
+        public void close() {
+            RuleRunner.writeReport();
+            RuleMetrics.writeReports();
+            if (!failed && !RuleRunner.hasViolations()) {
+                ImportedClasses.storeSnapshots();
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.example;
+
+import com.tngtech.archunit.core.domain.AccessTarget;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+import org.springframework.scheduling.annotation.Async;
+
+import javax.sql.DataSource;
+import java.net.DatagramSocket;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.net.URLConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Follows method calls through the application's own classes and reports blocking calls reachable
+ * from the checked method. Methods annotated with {@link Async} run on another thread and are not followed.
+ * The search depth can be changed with {@code -Darchunit.blocking.depth}.
+ */
+final class BlockingCalls {
+
+    static final int MAX_DEPTH = Integer.getInteger("archunit.blocking.depth", 4);
+
+    private static final Set<String> BLOCKING_URL_METHODS = Set.of("openStream", "getContent");
+    private static final Set<String> BLOCKING_INET_ADDRESS_METHODS = Set.of("getByName", "getAllByName", "getLocalHost");
+    /**
+     * Types whose methods talk to the database. Value types of {@code java.sql} such as {@link java.sql.Timestamp}
+     * do no I/O and are not listed.
+     */
+    private static final List<Class<?>> JDBC_TYPES = List.of(Connection.class, Statement.class,
+            PreparedStatement.class, ResultSet.class, DataSource.class);
+
+    private BlockingCalls() {
+    }
+
+    static ArchCondition<JavaMethod> notReachBlockingCalls(int maxDepth) {
+        return new ArchCondition<>("not reach blocking calls within " + maxDepth + " calls") {
+            @Override
+            public void check(JavaMethod javaMethod, ConditionEvents conditionEvents) {
+                new Search(javaMethod, conditionEvents).visit(javaMethod, maxDepth);
+            }
+        };
+    }
+
+    private static boolean isBlocking(AccessTarget.MethodCallTarget target) {
+        var owner = target.getOwner();
+        var name = target.getName();
+        var withoutParameters = target.getRawParameterTypes().isEmpty();
+        return owner.isEquivalentTo(Thread.class) && name.equals("sleep")
+                || owner.isAssignableTo(Future.class) && name.equals("get") && withoutParameters
+                || owner.isAssignableTo(CompletableFuture.class) && name.equals("join")
+                || owner.isAssignableTo(URLConnection.class)
+                || owner.isAssignableTo(Socket.class)
+                || owner.isAssignableTo(ServerSocket.class)
+                || owner.isAssignableTo(DatagramSocket.class)
+                || owner.isEquivalentTo(URL.class) && BLOCKING_URL_METHODS.contains(name)
+                || owner.getName().equals("java.net.InetAddress") && BLOCKING_INET_ADDRESS_METHODS.contains(name)
+                || JDBC_TYPES.stream().anyMatch(owner::isAssignableTo);
+    }
+
+    private static String describe(JavaMethod origin, Deque<JavaMethodCall> callChain) {
+        var blockingCall = callChain.getLast();
+        return "Method " + origin.getFullName() + " reaches blocking call " + blockingCall.getTarget().getFullName()
+                + " via " + callChain.stream()
+                .map(call -> call.getOrigin().getFullName())
+                .collect(Collectors.joining(" -> ", "", " -> " + blockingCall.getTarget().getFullName()))
+                + " in " + blockingCall.getSourceCodeLocation();
+    }
+
+    /**
+     * Depth-limited search from one checked method. A method is expanded again when it is reached with more
+     * remaining depth than before, so reaching it first close to the depth limit does not hide calls further down.
+     */
+    private static final class Search {
+
+        private final JavaMethod origin;
+        private final ConditionEvents conditionEvents;
+        private final Deque<JavaMethodCall> callChain = new ArrayDeque<>();
+        private final Map<JavaMethod, Integer> expandedDepths = new HashMap<>();
+        private final Set<JavaMethodCall> reportedCalls = new HashSet<>();
+
+        private Search(JavaMethod origin, ConditionEvents conditionEvents) {
+            this.origin = origin;
+            this.conditionEvents = conditionEvents;
+        }
+
+        private void visit(JavaMethod method, int remainingDepth) {
+            if (expandedDepths.getOrDefault(method, 0) >= remainingDepth || method.isAnnotatedWith(Async.class)) {
+                return;
+            }
+            expandedDepths.put(method, remainingDepth);
+            for (JavaMethodCall call : method.getMethodCallsFromSelf()) {
+                callChain.addLast(call);
+                if (isBlocking(call.getTarget())) {
+                    if (reportedCalls.add(call)) {
+                        conditionEvents.add(SimpleConditionEvent.violated(origin, describe(origin, callChain)));
+                    }
+                } else if (remainingDepth > 1
+                        && call.getTargetOwner().getPackageName().startsWith(ImportedClasses.ROOT_PACKAGE)) {
+                    for (JavaMethod target : call.getTarget().resolve()) {
+                        visit(target, remainingDepth - 1);
+                    }
+                }
+                callChain.removeLast();
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.example;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.methods;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link BlockingCalls} against the call graph in {@code org.example.fixtures.blocking}.
+ */
+class BlockingCallsTest {
+
+    private static JavaClasses fixtures;
+
+    @BeforeAll
+    static void init() {
+        fixtures = ImportedClasses.importPackages(List.of(), "org.example.fixtures.blocking");
+    }
+
+    @Test
+    void shouldFindBlockingCallsOfMethodsReachedAgainWithMoreDepth() {
+        //given
+        var rule = methods().that().haveName("endpoint")
+                .should(BlockingCalls.notReachBlockingCalls(3));
+
+        //when
+        var violations = rule.evaluate(fixtures).getFailureReport().getDetails();
+
+        //then
+        assertEquals(2, violations.size(), violations.toString());
+        assertTrue(violations.stream().anyMatch(violation -> violation.contains("Thread.sleep")), violations.toString());
+        assertTrue(violations.stream().anyMatch(violation -> violation.contains("ResultSet.next")),
+                violations.toString());
+    }
+}
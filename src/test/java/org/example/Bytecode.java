@@ -0,0 +1,95 @@
+package org.example;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.Analyzer;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.Frame;
+import org.objectweb.asm.tree.analysis.SourceInterpreter;
+import org.objectweb.asm.tree.analysis.SourceValue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Method bodies of imported classes, for rules about instructions ArchUnit does not model,
+ * e.g. {@code synchronized} blocks. Class files are read from the location ArchUnit imported them from
+ * and parsed once per JVM.
+ */
+final class Bytecode {
+
+    private static final Map<String, ClassNode> CLASS_NODES = new ConcurrentHashMap<>();
+
+    private Bytecode() {
+    }
+
+    static ClassNode classNode(JavaClass javaClass) {
+        return CLASS_NODES.computeIfAbsent(javaClass.getName(), name -> read(javaClass));
+    }
+
+    /**
+     * @return source line of {@code instruction}, or -1 when the class was compiled without line numbers
+     */
+    static int lineOf(AbstractInsnNode instruction) {
+        for (var node = instruction; node != null; node = node.getPrevious()) {
+            if (node instanceof LineNumberNode) {
+                return ((LineNumberNode) node).line;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return frames of {@code method} indexed like its instructions, telling which instructions produced
+     * each local variable and operand stack value; frames of unreachable instructions are {@code null}
+     */
+    static Frame<SourceValue>[] sourceFrames(JavaClass owner, MethodNode method) {
+        try {
+            return new Analyzer<>(new SourceInterpreter()).analyze(classNode(owner).name, method);
+        } catch (AnalyzerException e) {
+            throw new IllegalStateException("Cannot analyze " + describe(owner, method), e);
+        }
+    }
+
+    /**
+     * @return {@code method} in the format ArchUnit uses in its violation messages, e.g.
+     * {@code Method <org.example.Foo.bar(java.lang.String, int)>}
+     */
+    static String describe(JavaClass owner, MethodNode method) {
+        var parameters = Arrays.stream(Type.getArgumentTypes(method.desc))
+                .map(Type::getClassName)
+                .collect(Collectors.joining(", "));
+        return "Method <" + owner.getName() + "." + method.name + "(" + parameters + ")>";
+    }
+
+    /**
+     * @return location of {@code instruction} in the format ArchUnit uses, e.g. {@code (Foo.java:12)}
+     */
+    static String locationOf(JavaClass owner, AbstractInsnNode instruction) {
+        var sourceFile = classNode(owner).sourceFile;
+        return "(" + (sourceFile == null ? owner.getSimpleName() + ".java" : sourceFile) + ":" + lineOf(instruction) + ")";
+    }
+
+    private static ClassNode read(JavaClass javaClass) {
+        var source = javaClass.getSource();
+        if (!source.isPresent()) {
+            throw new IllegalStateException("No class file known for " + javaClass.getName());
+        }
+        try (var classFile = source.get().getUri().toURL().openStream()) {
+            var classNode = new ClassNode();
+            new ClassReader(classFile).accept(classNode, ClassReader.SKIP_FRAMES);
+            return classNode;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read class file of " + javaClass.getName(), e);
+        }
+    }
+}
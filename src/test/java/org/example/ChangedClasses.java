@@ -0,0 +1,103 @@
+package org.example;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Restricts rule subjects to changed classes and their direct dependents. Dependents are found through the names of
+ * their dependency targets, so classes depending on a class deleted since the baseline count as affected as well.
+ * Enabled with {@code -Darchunit.changedFiles=<file>}, where the file lists changed source or class files one per line
+ * (e.g. the output of {@code git diff --name-only}), or with {@code -Darchunit.changedFiles=snapshot} to use the classes
+ * changed since the last passing run according to {@link ClassFileSnapshot}.
+ */
+final class ChangedClasses {
+
+    static final String CHANGED_FILES_PROPERTY = "archunit.changedFiles";
+
+    private static final String SNAPSHOT = "snapshot";
+
+    private ChangedClasses() {
+    }
+
+    /**
+     * @return {@code javaClasses} limited to classes affected by the change, or all of them when the mode is disabled
+     */
+    static JavaClasses affectedClasses(JavaClasses javaClasses) {
+        return changedClassNames()
+                .map(changedClassNames -> affectedClasses(javaClasses, changedClassNames))
+                .orElse(javaClasses);
+    }
+
+    static JavaClasses affectedClasses(JavaClasses javaClasses, Set<String> changedClassNames) {
+        return javaClasses.that(affectedBy(changedClassNames, javaClasses));
+    }
+
+    private static Optional<Set<String>> changedClassNames() {
+        var changedFiles = System.getProperty(CHANGED_FILES_PROPERTY);
+        if (changedFiles == null) {
+            return Optional.empty();
+        }
+        if (SNAPSHOT.equals(changedFiles)) {
+            return Optional.of(ImportedClasses.changedProductionClasses());
+        }
+        try {
+            return Optional.of(Files.readAllLines(Paths.get(changedFiles)).stream()
+                    .map(ChangedClasses::toClassName)
+                    .flatMap(Optional::stream)
+                    .collect(Collectors.toSet()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read changed files from " + changedFiles, e);
+        }
+    }
+
+    private static Optional<String> toClassName(String changedFile) {
+        var file = changedFile.trim().replace('\\', '/');
+        var rootPackagePath = ImportedClasses.ROOT_PACKAGE.replace('.', '/') + "/";
+        var packageStart = file.indexOf(rootPackagePath);
+        var extensionStart = file.lastIndexOf('.');
+        if (packageStart < 0 || extensionStart < packageStart
+                || !(file.endsWith(".java") || file.endsWith(".class"))) {
+            return Optional.empty();
+        }
+        return Optional.of(file.substring(packageStart, extensionStart).replace('/', '.'));
+    }
+
+    private static DescribedPredicate<JavaClass> affectedBy(Set<String> changedClassNames, JavaClasses javaClasses) {
+        var affected = new HashSet<String>();
+        for (JavaClass javaClass : javaClasses) {
+            if (isChanged(javaClass.getName(), changedClassNames)) {
+                affected.add(javaClass.getName());
+                continue;
+            }
+            for (Dependency dependency : javaClass.getDirectDependenciesFromSelf()) {
+                if (isChanged(dependency.getTargetClass().getName(), changedClassNames)) {
+                    affected.add(javaClass.getName());
+                    break;
+                }
+            }
+        }
+        return new DescribedPredicate<>("affected by changes to " + changedClassNames) {
+            @Override
+            public boolean apply(JavaClass javaClass) {
+                return affected.contains(javaClass.getName());
+            }
+        };
+    }
+
+    private static boolean isChanged(String name, Set<String> changedClassNames) {
+        var nestingSeparator = name.indexOf('$');
+        return changedClassNames.contains(name)
+                || nestingSeparator > 0 && changedClassNames.contains(name.substring(0, nestingSeparator));
+    }
+}
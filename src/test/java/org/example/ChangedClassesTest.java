@@ -0,0 +1,52 @@
+package org.example;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.tngtech.archunit.base.DescribedPredicate.not;
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.resideInAPackage;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks {@link ChangedClasses} against the classes in {@code org.example.fixtures.cycles}.
+ */
+class ChangedClassesTest {
+
+    private static JavaClasses fixtures;
+
+    @BeforeAll
+    static void init() {
+        fixtures = ImportedClasses.importPackages(List.of(), "org.example.fixtures.cycles");
+    }
+
+    @Test
+    void shouldIncludeDirectDependentsOfChangedClasses() {
+        //when
+        var affectedClasses = ChangedClasses.affectedClasses(fixtures, Set.of("org.example.fixtures.cycles.a.A"));
+
+        //then
+        assertEquals(Set.of("A", "C", "D"), simpleNames(affectedClasses));
+    }
+
+    @Test
+    void shouldIncludeDependentsOfDeletedClasses() {
+        //given
+        var withoutB = fixtures.that(not(resideInAPackage("..cycles.b..")));
+
+        //when
+        var affectedClasses = ChangedClasses.affectedClasses(withoutB, Set.of("org.example.fixtures.cycles.b.B"));
+
+        //then
+        assertEquals(Set.of("A"), simpleNames(affectedClasses));
+    }
+
+    private static Set<String> simpleNames(JavaClasses javaClasses) {
+        return javaClasses.stream().map(JavaClass::getSimpleName).collect(Collectors.toSet());
+    }
+}
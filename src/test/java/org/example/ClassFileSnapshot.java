@@ -0,0 +1,124 @@
+package org.example;
+
+import com.tngtech.archunit.core.importer.ImportOption;
+import com.tngtech.archunit.core.importer.Location;
+import com.tngtech.archunit.core.importer.Locations;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Content hashes of all class files taking part in an import, persisted under {@code target/} between runs.
+ * Comparing the current snapshot with the stored one tells which classes changed since the previous run.
+ */
+final class ClassFileSnapshot {
+
+    static final Path SNAPSHOT_DIRECTORY =
+            Paths.get(System.getProperty("archunit.snapshot.dir", "target/archunit-snapshot"));
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private final Map<String, String> hashesByClassFile;
+
+    private ClassFileSnapshot(Map<String, String> hashesByClassFile) {
+        this.hashesByClassFile = hashesByClassFile;
+    }
+
+    static ClassFileSnapshot take(Collection<ImportOption> importOptions, Collection<String> packages) {
+        var hashes = new TreeMap<String, String>();
+        for (String packageName : packages) {
+            var packagePath = packageName.replace('.', '/');
+            for (Location location : Locations.ofPackage(packageName)) {
+                if (location.isArchive() || importOptions.stream().anyMatch(option -> !option.includes(location))) {
+                    continue;
+                }
+                var directory = Paths.get(location.asURI());
+                if (Files.isDirectory(directory)) {
+                    hashDirectory(directory, packagePath, hashes);
+                }
+            }
+        }
+        return new ClassFileSnapshot(hashes);
+    }
+
+    static ClassFileSnapshot load(Path file) {
+        if (!Files.exists(file)) {
+            return new ClassFileSnapshot(Map.of());
+        }
+        try (Stream<String> lines = Files.lines(file)) {
+            return new ClassFileSnapshot(lines
+                    .filter(line -> !line.isBlank())
+                    .collect(Collectors.toMap(line -> line.substring(0, line.indexOf('=')),
+                            line -> line.substring(line.indexOf('=') + 1), (first, second) -> second, TreeMap::new)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read class file snapshot " + file, e);
+        }
+    }
+
+    void store(Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, hashesByClassFile.entrySet().stream()
+                    .map(entry -> entry.getKey() + "=" + entry.getValue())
+                    .collect(Collectors.toList()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write class file snapshot " + file, e);
+        }
+    }
+
+    /**
+     * @return fully qualified names of classes added, modified or deleted compared to {@code previous}
+     */
+    Set<String> changedClassesSince(ClassFileSnapshot previous) {
+        var changedClasses = hashesByClassFile.entrySet().stream()
+                .filter(entry -> !entry.getValue().equals(previous.hashesByClassFile.get(entry.getKey())))
+                .map(entry -> toClassName(entry.getKey()))
+                .collect(Collectors.toCollection(TreeSet::new));
+        previous.hashesByClassFile.keySet().stream()
+                .filter(classFile -> !hashesByClassFile.containsKey(classFile))
+                .map(ClassFileSnapshot::toClassName)
+                .forEach(changedClasses::add);
+        return changedClasses;
+    }
+
+    private static void hashDirectory(Path directory, String packagePath, Map<String, String> hashes) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(file -> file.toString().endsWith(CLASS_FILE_SUFFIX))
+                    .forEach(file -> hashes.put(packagePath + "/" + toUnixPath(directory.relativize(file)), hash(file)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot hash class files in " + directory, e);
+        }
+    }
+
+    private static String hash(Path file) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(Files.readAllBytes(file)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot hash class file " + file, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+        }
+    }
+
+    private static String toUnixPath(Path path) {
+        return path.toString().replace('\\', '/');
+    }
+
+    private static String toClassName(String classFile) {
+        return classFile.substring(0, classFile.length() - CLASS_FILE_SUFFIX.length()).replace('/', '.');
+    }
+}
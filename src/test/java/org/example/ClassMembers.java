@@ -0,0 +1,94 @@
+package org.example;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaConstructor;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaModifier;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Facts about the members of a class, computed once per imported class and shared by all conditions,
+ * so that checking a class which does not violate a rule only takes a map lookup and a few comparisons.
+ * Imports are indexed up front by {@link #index}, outside of rule evaluation; afterwards the index is only read,
+ * so concurrently evaluated rules never wait for each other. Classes outside of an indexed import are examined
+ * on every lookup. Imports discarded before the end of the run, e.g. by benchmarks, are removed with {@link #forget}.
+ */
+final class ClassMembers {
+
+    private static final Map<JavaClass, ClassMembers> INDEX = new ConcurrentHashMap<>();
+    private static final int ALL_MODIFIERS = -1;
+
+    private final Set<String> methodNames;
+    private final int methodCount;
+    private final int commonMethodModifiers;
+    private final int maxConstructorArity;
+    private final Set<String> methodsDeclaringRuntimeExceptions;
+
+    private ClassMembers(JavaClass javaClass) {
+        var names = new HashSet<String>();
+        var throwingRuntimeExceptions = new HashSet<String>();
+        var modifiers = ALL_MODIFIERS;
+        for (JavaMethod method : javaClass.getMethods()) {
+            names.add(method.getName());
+            modifiers &= toBitmask(method.getModifiers());
+            if (method.getExceptionTypes().stream().anyMatch(type -> type.isAssignableTo(RuntimeException.class))) {
+                throwingRuntimeExceptions.add(method.getFullName());
+            }
+        }
+        var arity = 0;
+        for (JavaConstructor constructor : javaClass.getAllConstructors()) {
+            arity = Math.max(arity, constructor.getRawParameterTypes().size());
+        }
+        this.methodNames = Set.copyOf(names);
+        this.methodCount = javaClass.getMethods().size();
+        this.commonMethodModifiers = modifiers;
+        this.maxConstructorArity = arity;
+        this.methodsDeclaringRuntimeExceptions = Set.copyOf(throwingRuntimeExceptions);
+    }
+
+    static ClassMembers of(JavaClass javaClass) {
+        var members = INDEX.get(javaClass);
+        return members != null ? members : new ClassMembers(javaClass);
+    }
+
+    static void index(JavaClasses javaClasses) {
+        javaClasses.forEach(javaClass -> INDEX.put(javaClass, new ClassMembers(javaClass)));
+    }
+
+    static void forget(JavaClasses javaClasses) {
+        javaClasses.forEach(INDEX::remove);
+    }
+
+    boolean declaresMethod(String name) {
+        return methodNames.contains(name);
+    }
+
+    boolean hasOnlyMethodsWith(JavaModifier modifier) {
+        return methodCount > 0 && (commonMethodModifiers & bit(modifier)) != 0;
+    }
+
+    boolean hasParametrisedConstructor() {
+        return maxConstructorArity > 0;
+    }
+
+    boolean declaresRuntimeException(JavaMethod method) {
+        return !methodsDeclaringRuntimeExceptions.isEmpty() && methodsDeclaringRuntimeExceptions.contains(method.getFullName());
+    }
+
+    private static int toBitmask(Set<JavaModifier> modifiers) {
+        var bitmask = 0;
+        for (JavaModifier modifier : modifiers) {
+            bitmask |= bit(modifier);
+        }
+        return bitmask;
+    }
+
+    private static int bit(JavaModifier modifier) {
+        return 1 << modifier.ordinal();
+    }
+}
@@ -0,0 +1,74 @@
+package org.example;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaModifier;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+
+/**
+ * Custom predicates and conditions of {@link CleanCodeTest}, backed by {@link ClassMembers}.
+ * Violation messages are only built for violating classes.
+ */
+final class CleanCodeConditions {
+
+    private static final DescribedPredicate<JavaClass> HAVE_PARAMETRISED_CONSTRUCTORS =
+            new DescribedPredicate<>("with parametrised constructors") {
+                @Override
+                public boolean apply(JavaClass javaClass) {
+                    return ClassMembers.of(javaClass).hasParametrisedConstructor();
+                }
+            };
+
+    private static final DescribedPredicate<JavaClass> HAVE_ONLY_STATIC_METHODS =
+            new DescribedPredicate<>("with all method static") {
+                @Override
+                public boolean apply(JavaClass javaClass) {
+                    return ClassMembers.of(javaClass).hasOnlyMethodsWith(JavaModifier.STATIC);
+                }
+            };
+
+    private static final ArchCondition<JavaMethod> NOT_DECLARE_THROWING_RUNTIME_EXCEPTION =
+            new ArchCondition<>("not declare throwing runtime exception") {
+                @Override
+                public void check(JavaMethod javaMethod, ConditionEvents conditionEvents) {
+                    if (ClassMembers.of(javaMethod.getOwner()).declaresRuntimeException(javaMethod)) {
+                        conditionEvents.add(SimpleConditionEvent.violated(javaMethod,
+                                "Method declare throwing runtime exception " + javaMethod.getFullName()));
+                    }
+                }
+            };
+
+    private static final ArchCondition<JavaClass> HAVE_BOTH_HASH_CODE_AND_EQUALS_PRESENT =
+            new ArchCondition<>("have only hashCode or only equals") {
+                @Override
+                public void check(JavaClass javaClass, ConditionEvents conditionEvents) {
+                    var members = ClassMembers.of(javaClass);
+                    if (members.declaresMethod("hashCode") != members.declaresMethod("equals")) {
+                        conditionEvents.add(SimpleConditionEvent.violated(javaClass,
+                                "Class should have both equals and hashCode defined " + javaClass.getName()));
+                    }
+                }
+            };
+
+    private CleanCodeConditions() {
+    }
+
+    static DescribedPredicate<JavaClass> haveParametrisedConstructors() {
+        return HAVE_PARAMETRISED_CONSTRUCTORS;
+    }
+
+    static DescribedPredicate<JavaClass> haveOnlyStaticMethods() {
+        return HAVE_ONLY_STATIC_METHODS;
+    }
+
+    static ArchCondition<JavaMethod> notDeclareThrowingRuntimeException() {
+        return NOT_DECLARE_THROWING_RUNTIME_EXCEPTION;
+    }
+
+    static ArchCondition<JavaClass> haveBothHashCodeAndEqualsPresent() {
+        return HAVE_BOTH_HASH_CODE_AND_EQUALS_PRESENT;
+    }
+}
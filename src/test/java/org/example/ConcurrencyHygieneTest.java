@@ -0,0 +1,63 @@
+package org.example;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the production beans against {@link ConcurrencyRules}.
+ */
+class ConcurrencyHygieneTest {
+
+    private static JavaClasses javaClasses;
+
+    @BeforeAll
+    static void init() {
+        javaClasses = ChangedClasses.affectedClasses(ImportedClasses.productionClasses());
+    }
+
+    @Test
+    void beanMethodsShouldNotBeSynchronized() {
+        //given
+        var rule = ConcurrencyRules.beanMethodsShouldNotBeSynchronized();
+
+        //expect
+        RuleRunner.check(rule, javaClasses);
+    }
+
+    @Test
+    void beansShouldNotUseSynchronizedBlocks() {
+        //given
+        var rule = ConcurrencyRules.beansShouldNotUseSynchronizedBlocks();
+
+        //expect
+        RuleRunner.check(rule, javaClasses);
+    }
+
+    @Test
+    void beansShouldNotUseSynchronizedCollections() {
+        //given
+        var rule = ConcurrencyRules.beansShouldNotUseSynchronizedCollections();
+
+        //expect
+        RuleRunner.check(rule, javaClasses);
+    }
+
+    @Test
+    void beanFieldsShouldNotHoldUnsafeMutableState() {
+        //given
+        var rule = ConcurrencyRules.beanFieldsShouldNotHoldUnsafeMutableState();
+
+        //expect
+        RuleRunner.check(rule, javaClasses);
+    }
+
+    @Test
+    void beanThreadLocalsShouldBeRemoved() {
+        //given
+        var rule = ConcurrencyRules.beanThreadLocalsShouldBeRemoved();
+
+        //expect
+        RuleRunner.check(rule, javaClasses);
+    }
+}
@@ -0,0 +1,247 @@
+package org.example;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.core.domain.JavaModifier;
+import com.tngtech.archunit.core.domain.properties.CanBeAnnotated;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Stack;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.Vector;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.equivalentTo;
+import static com.tngtech.archunit.core.domain.properties.CanBeAnnotated.Predicates.annotatedWith;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.methods;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.noClasses;
+
+/**
+ * Rules of {@link ConcurrencyHygieneTest}. Singleton beans serve all requests concurrently, so shared locks and
+ * mutable state in them become contention points or races under load. That bean fields are final is checked by
+ * {@code CleanCodeTest.beansShouldBeInCorrectPackage}.
+ */
+final class ConcurrencyRules {
+
+    private static final DescribedPredicate<CanBeAnnotated> SINGLETON_BEANS = annotatedWith(Service.class)
+            .or(annotatedWith(Repository.class))
+            .or(annotatedWith(RestController.class))
+            .or(annotatedWith(Controller.class))
+            .as("singleton beans");
+
+    /**
+     * Collections and other types that are mutable and not safe for concurrent use; a final field does not make
+     * the state behind it thread safe.
+     */
+    private static final Set<String> UNSAFE_MUTABLE_TYPES = List.of(HashMap.class, LinkedHashMap.class,
+                    TreeMap.class, IdentityHashMap.class, WeakHashMap.class, EnumMap.class, ArrayList.class,
+                    LinkedList.class, ArrayDeque.class, PriorityQueue.class, HashSet.class, LinkedHashSet.class,
+                    TreeSet.class, BitSet.class, StringBuilder.class).stream()
+            .map(Type::getInternalName)
+            .collect(Collectors.toSet());
+
+    private static final String THREAD_LOCAL = Type.getInternalName(ThreadLocal.class);
+    private static final String INHERITABLE_THREAD_LOCAL = Type.getInternalName(InheritableThreadLocal.class);
+
+    private ConcurrencyRules() {
+    }
+
+    static ArchRule beanMethodsShouldNotBeSynchronized() {
+        return methods().that().areDeclaredInClassesThat(SINGLETON_BEANS)
+                .should().notHaveModifier(JavaModifier.SYNCHRONIZED);
+    }
+
+    static ArchRule beansShouldNotUseSynchronizedBlocks() {
+        return classes().that(SINGLETON_BEANS)
+                .should(notEnterSynchronizedBlocks());
+    }
+
+    static ArchRule beansShouldNotUseSynchronizedCollections() {
+        return noClasses().that(SINGLETON_BEANS)
+                .should().dependOnClassesThat(equivalentTo(Hashtable.class)
+                        .or(equivalentTo(Vector.class))
+                        .or(equivalentTo(Stack.class)))
+                .orShould().callMethodWhere(synchronizedCollectionFactory());
+    }
+
+    static ArchRule beanFieldsShouldNotHoldUnsafeMutableState() {
+        return classes().that(SINGLETON_BEANS)
+                .should(notHoldUnsafeMutableState());
+    }
+
+    static ArchRule beanThreadLocalsShouldBeRemoved() {
+        return classes().that(SINGLETON_BEANS)
+                .should(removeTheirThreadLocals());
+    }
+
+    private static DescribedPredicate<JavaMethodCall> synchronizedCollectionFactory() {
+        return new DescribedPredicate<>("target is a Collections.synchronized* factory") {
+            @Override
+            public boolean apply(JavaMethodCall call) {
+                return call.getTargetOwner().isEquivalentTo(Collections.class)
+                        && call.getName().startsWith("synchronized");
+            }
+        };
+    }
+
+    private static ArchCondition<JavaClass> notEnterSynchronizedBlocks() {
+        return new ArchCondition<>("not enter synchronized blocks") {
+            @Override
+            public void check(JavaClass javaClass, ConditionEvents conditionEvents) {
+                for (MethodNode method : Bytecode.classNode(javaClass).methods) {
+                    for (AbstractInsnNode instruction : method.instructions) {
+                        if (instruction.getOpcode() == Opcodes.MONITORENTER) {
+                            conditionEvents.add(SimpleConditionEvent.violated(javaClass,
+                                    Bytecode.describe(javaClass, method) + " enters a synchronized block in "
+                                            + Bytecode.locationOf(javaClass, instruction)));
+                        }
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Finds fields declared as arrays or as one of {@link #UNSAFE_MUTABLE_TYPES}, and fields of other types assigned
+     * a new instance of one of them, e.g. {@code Map<K, V> cache = new HashMap<>()}. Values passed through local
+     * variables or returned by methods are not followed.
+     */
+    private static ArchCondition<JavaClass> notHoldUnsafeMutableState() {
+        return new ArchCondition<>("not hold arrays or collections that are unsafe for concurrent use") {
+            @Override
+            public void check(JavaClass javaClass, ConditionEvents conditionEvents) {
+                var unsafeFields = new HashSet<String>();
+                for (JavaField field : javaClass.getFields()) {
+                    if (field.getRawType().isArray()
+                            || UNSAFE_MUTABLE_TYPES.contains(field.getRawType().getName().replace('.', '/'))) {
+                        unsafeFields.add(field.getName());
+                    }
+                }
+                var classNode = Bytecode.classNode(javaClass);
+                for (MethodNode method : classNode.methods) {
+                    if (!method.name.equals("<init>") && !method.name.equals("<clinit>")) {
+                        continue;
+                    }
+                    var frames = Bytecode.sourceFrames(javaClass, method);
+                    for (AbstractInsnNode instruction : method.instructions) {
+                        var frame = frames[method.instructions.indexOf(instruction)];
+                        if (frame == null || !isStoreTo(instruction, classNode.name)) {
+                            continue;
+                        }
+                        var assigned = frame.getStack(frame.getStackSize() - 1).insns;
+                        if (assigned.stream().anyMatch(source -> source.getOpcode() == Opcodes.NEW
+                                && UNSAFE_MUTABLE_TYPES.contains(((TypeInsnNode) source).desc))) {
+                            unsafeFields.add(((FieldInsnNode) instruction).name);
+                        }
+                    }
+                }
+                for (JavaField field : javaClass.getFields()) {
+                    if (unsafeFields.contains(field.getName())) {
+                        conditionEvents.add(SimpleConditionEvent.violated(field, "Field " + field.getFullName()
+                                + " holds mutable state that is unsafe for concurrent use, in "
+                                + field.getSourceCodeLocation()));
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * A {@code ThreadLocal} field counts as removed when {@code remove()} is called on a value read directly
+     * from that field. Values passed through local variables are not followed.
+     */
+    private static ArchCondition<JavaClass> removeTheirThreadLocals() {
+        return new ArchCondition<>("remove their thread locals") {
+            @Override
+            public void check(JavaClass javaClass, ConditionEvents conditionEvents) {
+                var threadLocals = javaClass.getFields().stream()
+                        .filter(field -> field.getRawType().isAssignableTo(ThreadLocal.class))
+                        .collect(Collectors.toList());
+                if (threadLocals.isEmpty()) {
+                    return;
+                }
+                var removedFields = removedThreadLocalFields(javaClass);
+                for (JavaField field : threadLocals) {
+                    if (!removedFields.contains(field.getName())) {
+                        conditionEvents.add(SimpleConditionEvent.violated(field, "Field " + field.getFullName()
+                                + " holds a ThreadLocal that is never removed, which leaks values into later tasks "
+                                + "of pooled threads, in " + field.getSourceCodeLocation()));
+                    }
+                }
+            }
+        };
+    }
+
+    private static Set<String> removedThreadLocalFields(JavaClass javaClass) {
+        var classNode = Bytecode.classNode(javaClass);
+        var removedFields = new HashSet<String>();
+        for (MethodNode method : classNode.methods) {
+            var frames = Bytecode.sourceFrames(javaClass, method);
+            for (AbstractInsnNode instruction : method.instructions) {
+                var frame = frames[method.instructions.indexOf(instruction)];
+                if (frame == null || !isThreadLocalRemove(instruction)) {
+                    continue;
+                }
+                for (AbstractInsnNode receiver : frame.getStack(frame.getStackSize() - 1).insns) {
+                    if (isLoadFrom(receiver, classNode.name)) {
+                        removedFields.add(((FieldInsnNode) receiver).name);
+                    }
+                }
+            }
+        }
+        return removedFields;
+    }
+
+    private static boolean isThreadLocalRemove(AbstractInsnNode instruction) {
+        if (!(instruction instanceof MethodInsnNode)) {
+            return false;
+        }
+        var call = (MethodInsnNode) instruction;
+        return call.name.equals("remove") && call.desc.equals("()V")
+                && (call.owner.equals(THREAD_LOCAL) || call.owner.equals(INHERITABLE_THREAD_LOCAL));
+    }
+
+    private static boolean isLoadFrom(AbstractInsnNode instruction, String owner) {
+        return (instruction.getOpcode() == Opcodes.GETFIELD || instruction.getOpcode() == Opcodes.GETSTATIC)
+                && ((FieldInsnNode) instruction).owner.equals(owner);
+    }
+
+    private static boolean isStoreTo(AbstractInsnNode instruction, String owner) {
+        return (instruction.getOpcode() == Opcodes.PUTFIELD || instruction.getOpcode() == Opcodes.PUTSTATIC)
+                && ((FieldInsnNode) instruction).owner.equals(owner);
+    }
+}
@@ -0,0 +1,85 @@
+package org.example;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link ConcurrencyRules} against the beans in {@code org.example.fixtures.concurrency}. Every violation
+ * must be found in {@code UnsafeBean}, in a member whose name starts with {@code unsafe}, and none in {@code SafeBean}.
+ */
+class ConcurrencyRulesTest {
+
+    private static final Pattern MEMBER_NAME = Pattern.compile("(\\w+)Bean\\.(\\w+)");
+
+    private static JavaClasses fixtures;
+
+    @BeforeAll
+    static void init() {
+        fixtures = ImportedClasses.importPackages(List.of(), "org.example.fixtures.concurrency");
+    }
+
+    @Test
+    void shouldFindSynchronizedMethods() {
+        //expect
+        assertEquals(Set.of("Unsafe.unsafeSynchronizedMethod"),
+                violatingMembers(ConcurrencyRules.beanMethodsShouldNotBeSynchronized()));
+    }
+
+    @Test
+    void shouldFindSynchronizedBlocks() {
+        //expect
+        assertEquals(Set.of("Unsafe.unsafeSynchronizedBlock"),
+                violatingMembers(ConcurrencyRules.beansShouldNotUseSynchronizedBlocks()));
+    }
+
+    @Test
+    void shouldFindSynchronizedCollections() {
+        //given
+        var rule = ConcurrencyRules.beansShouldNotUseSynchronizedCollections();
+
+        //when
+        var violations = rule.evaluate(fixtures).getFailureReport().getDetails();
+
+        //then
+        assertTrue(violations.stream().anyMatch(violation -> violation.contains("Collections.synchronizedList")),
+                violations.toString());
+        assertTrue(violations.stream().anyMatch(violation -> violation.contains("java.util.Vector")),
+                violations.toString());
+        assertFalse(violations.stream().anyMatch(violation -> violation.contains("SafeBean")),
+                violations.toString());
+    }
+
+    @Test
+    void shouldFindUnsafeMutableStateBehindFinalFields() {
+        //expect
+        assertEquals(Set.of("Unsafe.unsafeMap", "Unsafe.unsafeList", "Unsafe.unsafeArray"),
+                violatingMembers(ConcurrencyRules.beanFieldsShouldNotHoldUnsafeMutableState()));
+    }
+
+    @Test
+    void shouldFindEveryThreadLocalThatIsNotRemoved() {
+        //expect
+        assertEquals(Set.of("Unsafe.unsafeThreadLocal"),
+                violatingMembers(ConcurrencyRules.beanThreadLocalsShouldBeRemoved()));
+    }
+
+    private static Set<String> violatingMembers(ArchRule rule) {
+        return rule.evaluate(fixtures).getFailureReport().getDetails().stream()
+                .map(MEMBER_NAME::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> matcher.group(1) + "." + matcher.group(2))
+                .collect(Collectors.toSet());
+    }
+}
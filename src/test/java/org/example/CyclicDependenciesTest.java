@@ -1,31 +1,45 @@
 package org.example;
 
 import com.tngtech.archunit.core.domain.JavaClasses;
-import com.tngtech.archunit.core.importer.ClassFileImporter;
-import com.tngtech.archunit.core.importer.ImportOption;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 
 import static com.tngtech.archunit.library.dependencies.SlicesRuleDefinition.slices;
 
+/**
+ * Cycles are checked with {@link SliceCycles} by default;
+ * run with {@code -Darchunit.cycles.mode=archunit} to use ArchUnit's own cycle detection instead.
+ */
 class CyclicDependenciesTest {
 
+    private static final int MAX_EDGES_PER_CYCLE = 20;
+
     private static JavaClasses javaClasses;
 
     @BeforeAll
     static void init() {
-        javaClasses = new ClassFileImporter()
-                .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_JARS)
-                .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS)
-                .importPackages("org.example");
+        javaClasses = ImportedClasses.productionClasses();
     }
 
     @Test
+    @EnabledIfSystemProperty(named = "archunit.cycles.mode", matches = "archunit")
     void packagesShouldBeFreeOfCycles() {
         //given
         var rule = slices().matching("org.example.(**)").should().beFreeOfCycles();
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
+    }
+
+    @Test
+    @DisabledIfSystemProperty(named = "archunit.cycles.mode", matches = "archunit")
+    void packagesShouldBeFreeOfStronglyConnectedComponents() {
+        //given
+        var sliceCycles = new SliceCycles("org.example.(**)", MAX_EDGES_PER_CYCLE);
+
+        //expect
+        sliceCycles.check(javaClasses, ChangedClasses.affectedClasses(javaClasses));
     }
 }
@@ -0,0 +1,126 @@
+package org.example;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.core.importer.ImportOption;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Imports classes once per JVM and shares the result between all architecture test classes.
+ * Imports are keyed by import options and package roots, so differently filtered imports never mix.
+ * When asked for changed classes, the current {@link ClassFileSnapshot} is compared with the one stored by the previous
+ * passing run; {@link ArchitectureRunExtension} stores it again only if this run passes as well, so a violation keeps
+ * being reported until it is fixed.
+ */
+final class ImportedClasses {
+
+    static final String ROOT_PACKAGE = "org.example";
+
+    private static final Map<ImportKey, JavaClasses> CACHE = new ConcurrentHashMap<>();
+    private static final Map<ImportKey, SnapshotComparison> SNAPSHOT_COMPARISONS = new ConcurrentHashMap<>();
+
+    private ImportedClasses() {
+    }
+
+    static JavaClasses productionClasses() {
+        return classImport(productionKey());
+    }
+
+    static JavaClasses testClasses() {
+        return importPackages(List.of(ImportOption.Predefined.ONLY_INCLUDE_TESTS), ROOT_PACKAGE);
+    }
+
+    static JavaClasses importPackages(List<ImportOption> importOptions, String... packages) {
+        return classImport(new ImportKey(importOptions, List.of(packages)));
+    }
+
+    /**
+     * @return names of production classes whose class files were added, modified or deleted since the last passing run
+     */
+    static Set<String> changedProductionClasses() {
+        return SNAPSHOT_COMPARISONS.computeIfAbsent(productionKey(), ImportedClasses::compareSnapshots).changedClasses;
+    }
+
+    /**
+     * Stores the snapshots compared in this run as the baseline of the next one.
+     */
+    static void storeSnapshots() {
+        SNAPSHOT_COMPARISONS.forEach((key, comparison) ->
+                comparison.snapshot.store(ClassFileSnapshot.SNAPSHOT_DIRECTORY.resolve(key.fileName())));
+    }
+
+    private static JavaClasses classImport(ImportKey key) {
+        return CACHE.computeIfAbsent(key, ImportedClasses::doImport);
+    }
+
+    private static ImportKey productionKey() {
+        return new ImportKey(List.of(ImportOption.Predefined.DO_NOT_INCLUDE_JARS,
+                ImportOption.Predefined.DO_NOT_INCLUDE_TESTS), List.of(ROOT_PACKAGE));
+    }
+
+    private static SnapshotComparison compareSnapshots(ImportKey key) {
+        var snapshot = ClassFileSnapshot.take(key.importOptions, key.packages);
+        var previous = ClassFileSnapshot.load(ClassFileSnapshot.SNAPSHOT_DIRECTORY.resolve(key.fileName()));
+        return new SnapshotComparison(snapshot, snapshot.changedClassesSince(previous));
+    }
+
+    private static JavaClasses doImport(ImportKey key) {
+        var importer = new ClassFileImporter();
+        for (ImportOption importOption : key.importOptions) {
+            importer = importer.withImportOption(importOption);
+        }
+        var javaClasses = importer.importPackages(key.packages);
+        ClassMembers.index(javaClasses);
+        return javaClasses;
+    }
+
+    private static final class SnapshotComparison {
+
+        private final ClassFileSnapshot snapshot;
+        private final Set<String> changedClasses;
+
+        private SnapshotComparison(ClassFileSnapshot snapshot, Set<String> changedClasses) {
+            this.snapshot = snapshot;
+            this.changedClasses = changedClasses;
+        }
+    }
+
+    private static final class ImportKey {
+
+        private final List<ImportOption> importOptions;
+        private final List<String> packages;
+
+        private ImportKey(List<ImportOption> importOptions, List<String> packages) {
+            this.importOptions = List.copyOf(importOptions);
+            this.packages = packages;
+        }
+
+        private String fileName() {
+            return importOptions.stream()
+                    .map(option -> option instanceof Enum ? ((Enum<?>) option).name() : option.getClass().getName())
+                    .collect(Collectors.joining("+", String.join("+", packages) + "_", ".snapshot"));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ImportKey)) {
+                return false;
+            }
+            ImportKey importKey = (ImportKey) o;
+            return importOptions.equals(importKey.importOptions) && packages.equals(importKey.packages);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * importOptions.hashCode() + packages.hashCode();
+        }
+    }
+}
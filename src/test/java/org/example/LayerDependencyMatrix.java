@@ -0,0 +1,179 @@
+package org.example;
+
+import com.tngtech.archunit.base.PackageMatcher;
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Declarative layer model checked in a single pass over all dependency edges.
+ * Every package is mapped to its layers once, so each edge is classified by two map lookups.
+ * Violations are reported with the same descriptions as the equivalent
+ * {@code noClasses().that().resideInAPackage(..).should().dependOnClassesThat().resideInAPackage(..)} rules.
+ */
+final class LayerDependencyMatrix {
+
+    enum Layer {
+        CONTROLLER("..controller.."),
+        SERVICE("..service.."),
+        REPOSITORY("..repository.."),
+        MODEL("..model.."),
+        CONFIG("..config..");
+
+        private final String packageIdentifier;
+        private final PackageMatcher packageMatcher;
+
+        Layer(String packageIdentifier) {
+            this.packageIdentifier = packageIdentifier;
+            this.packageMatcher = PackageMatcher.of(packageIdentifier);
+        }
+    }
+
+    private final Map<Layer, Set<Layer>> forbiddenTargets = new EnumMap<>(Layer.class);
+
+    LayerDependencyMatrix forbid(Layer origin, Layer... targets) {
+        forbiddenTargets.computeIfAbsent(origin, layer -> EnumSet.noneOf(Layer.class)).addAll(List.of(targets));
+        return this;
+    }
+
+    Result evaluate(JavaClasses javaClasses) {
+        var start = System.nanoTime();
+        var classesExamined = 0;
+        long edgesVisited = 0;
+        var examinedByOrigin = new EnumMap<Layer, Examined>(Layer.class);
+        forbiddenTargets.keySet().forEach(origin -> examinedByOrigin.put(origin, new Examined()));
+        var layersByPackage = new HashMap<String, Set<Layer>>();
+        var violations = new EnumMap<Layer, Map<Layer, List<Dependency>>>(Layer.class);
+        forbiddenTargets.forEach((origin, targets) -> {
+            var violationsByTarget = new EnumMap<Layer, List<Dependency>>(Layer.class);
+            targets.forEach(target -> violationsByTarget.put(target, new ArrayList<>()));
+            violations.put(origin, violationsByTarget);
+        });
+
+        for (JavaClass javaClass : javaClasses) {
+            var originLayers = layersOf(javaClass, layersByPackage);
+            if (originLayers.isEmpty()) {
+                continue;
+            }
+            var classStart = RuleMetrics.ENABLED ? System.nanoTime() : 0;
+            classesExamined++;
+            var dependencies = javaClass.getDirectDependenciesFromSelf();
+            for (Layer origin : originLayers) {
+                var examined = examinedByOrigin.get(origin);
+                if (examined != null) {
+                    examined.classes++;
+                    examined.edges += dependencies.size();
+                }
+            }
+            for (Dependency dependency : dependencies) {
+                edgesVisited++;
+                var targetLayers = layersOf(dependency.getTargetClass(), layersByPackage);
+                for (Layer origin : originLayers) {
+                    var violationsByTarget = violations.get(origin);
+                    if (violationsByTarget == null) {
+                        continue;
+                    }
+                    for (Layer target : targetLayers) {
+                        var targetViolations = violationsByTarget.get(target);
+                        if (targetViolations != null) {
+                            targetViolations.add(dependency);
+                        }
+                    }
+                }
+            }
+            if (RuleMetrics.ENABLED) {
+                var classNanos = System.nanoTime() - classStart;
+                for (Layer origin : originLayers) {
+                    var examined = examinedByOrigin.get(origin);
+                    if (examined != null) {
+                        examined.nanos += classNanos;
+                    }
+                }
+            }
+        }
+        RuleMetrics.record("layer dependency matrix: " + describeForbiddenDependencies(), System.nanoTime() - start,
+                classesExamined, edgesVisited, violations.values().stream()
+                        .flatMap(violationsByTarget -> violationsByTarget.values().stream())
+                        .mapToInt(List::size)
+                        .sum());
+        return new Result(violations, examinedByOrigin);
+    }
+
+    private String describeForbiddenDependencies() {
+        return forbiddenTargets.entrySet().stream()
+                .map(forbidden -> forbidden.getKey() + " -/-> " + forbidden.getValue())
+                .collect(Collectors.joining(", "));
+    }
+
+    private static Set<Layer> layersOf(JavaClass javaClass, Map<String, Set<Layer>> layersByPackage) {
+        return layersByPackage.computeIfAbsent(javaClass.getPackageName(), packageName -> {
+            var layers = EnumSet.noneOf(Layer.class);
+            for (Layer layer : Layer.values()) {
+                if (layer.packageMatcher.matches(packageName)) {
+                    layers.add(layer);
+                }
+            }
+            return layers;
+        });
+    }
+
+    /**
+     * Classes of an origin layer, their dependency edges and the time spent classifying them, as examined by every
+     * rule with that origin. The time is only measured when {@link RuleMetrics} are enabled.
+     */
+    private static final class Examined {
+
+        private int classes;
+        private long edges;
+        private long nanos;
+    }
+
+    /**
+     * Violations of the forbidden dependencies. Every {@link #check} is recorded in {@link RuleMetrics} with the classes
+     * and edges of its origin layer, and the time the shared pass spent on them plus the time to report its violations,
+     * i.e. about what an equivalent standalone rule would take. The whole pass is also recorded once for the matrix.
+     */
+    static final class Result {
+
+        private final Map<Layer, Map<Layer, List<Dependency>>> violations;
+        private final Map<Layer, Examined> examinedByOrigin;
+
+        private Result(Map<Layer, Map<Layer, List<Dependency>>> violations, Map<Layer, Examined> examinedByOrigin) {
+            this.violations = violations;
+            this.examinedByOrigin = examinedByOrigin;
+        }
+
+        void check(Layer origin, Layer target) {
+            var dependencies = violations.getOrDefault(origin, Map.of()).get(target);
+            if (dependencies == null) {
+                throw new IllegalArgumentException(
+                        "Dependency from " + origin + " to " + target + " is not forbidden by the layer matrix");
+            }
+
+            var start = System.nanoTime();
+            var events = new ConditionEvents();
+            dependencies.forEach(dependency ->
+                    events.add(SimpleConditionEvent.violated(dependency, dependency.getDescription())));
+            var description = "no classes that reside in a package '" + origin.packageIdentifier
+                    + "' should depend on classes that reside in a package '" + target.packageIdentifier + "'";
+            var result = new EvaluationResult(() -> description, events, Priority.MEDIUM);
+            var examined = examinedByOrigin.get(origin);
+            RuleMetrics.record(description, examined.nanos + System.nanoTime() - start, examined.classes, examined.edges,
+                    dependencies.size());
+            RuleRunner.check(() -> description, result);
+        }
+    }
+}
@@ -1,142 +1,112 @@
 package org.example;
 
-import com.tngtech.archunit.core.domain.JavaClasses;
-import com.tngtech.archunit.core.importer.ClassFileImporter;
-import com.tngtech.archunit.core.importer.ImportOption;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 
-import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.noClasses;
+import static org.example.LayerDependencyMatrix.Layer.CONFIG;
+import static org.example.LayerDependencyMatrix.Layer.CONTROLLER;
+import static org.example.LayerDependencyMatrix.Layer.MODEL;
+import static org.example.LayerDependencyMatrix.Layer.REPOSITORY;
+import static org.example.LayerDependencyMatrix.Layer.SERVICE;
 
 class LayersTest {
 
-    private static JavaClasses javaClasses;
+    private static final LayerDependencyMatrix LAYERS = new LayerDependencyMatrix()
+            .forbid(CONTROLLER, REPOSITORY, MODEL, CONFIG)
+            .forbid(SERVICE, CONFIG, CONTROLLER)
+            .forbid(REPOSITORY, SERVICE, CONTROLLER, CONFIG)
+            .forbid(MODEL, CONTROLLER, CONFIG, REPOSITORY, SERVICE);
+
+    private static LayerDependencyMatrix.Result layerDependencies;
 
     @BeforeAll
     static void init() {
-        javaClasses = new ClassFileImporter()
-                .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_JARS)
-                .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS)
-                .importPackages("org.example");
+        layerDependencies = LAYERS.evaluate(ImportedClasses.productionClasses());
     }
 
     @Test
+    @Execution(ExecutionMode.CONCURRENT)
     void controllersShouldNotDependOnRepositories() {
-        //given
-        var rule = noClasses().that().resideInAPackage("..controller..")
-                .should().dependOnClassesThat().resideInAPackage("..repository..");
-
         //expect
-        rule.check(javaClasses);
+        layerDependencies.check(CONTROLLER, REPOSITORY);
     }
 
     @Test
+    @Execution(ExecutionMode.CONCURRENT)
     void controllersShouldNotDependOnEntities() {
-        //given
-        var rule = noClasses().that().resideInAPackage("..controller..")
-                .should().dependOnClassesThat().resideInAPackage("..model..");
-
         //expect
-        rule.check(javaClasses);
+        layerDependencies.check(CONTROLLER, MODEL);
     }
 
     @Test
+    @Execution(ExecutionMode.CONCURRENT)
     void controllersShouldNotDependOnConfig() {
-        //given
-        var rule = noClasses().that().resideInAPackage("..controller..")
-                .should().dependOnClassesThat().resideInAPackage("..config..");
-
         //expect
-        rule.check(javaClasses);
+        layerDependencies.check(CONTROLLER, CONFIG);
     }
 
     @Test
+    @Execution(ExecutionMode.CONCURRENT)
     void servicesShouldNotDependOnConfigurations() {
-        //given
-        var rule = noClasses().that().resideInAPackage("..service..")
-                .should().dependOnClassesThat().resideInAPackage("..config..");
-
         //expect
-        rule.check(javaClasses);
+        layerDependencies.check(SERVICE, CONFIG);
     }
 
     @Test
+    @Execution(ExecutionMode.CONCURRENT)
     void servicesShouldNotDependOnControllers() {
-        //given
-        var rule = noClasses().that().resideInAPackage("..service..")
-                .should().dependOnClassesThat().resideInAPackage("..controller..");
-
         //expect
-        rule.check(javaClasses);
+        layerDependencies.check(SERVICE, CONTROLLER);
     }
 
     @Test
+    @Execution(ExecutionMode.CONCURRENT)
     void repositoriesShouldNotDependOnServices() {
-        //given
-        var rule = noClasses().that().resideInAPackage("..repository..")
-                .should().dependOnClassesThat().resideInAPackage("..service..");
-
         //expect
-        rule.check(javaClasses);
+        layerDependencies.check(REPOSITORY, SERVICE);
     }
 
     @Test
+    @Execution(ExecutionMode.CONCURRENT)
     void repositoriesShouldNotDependOnControllers() {
-        //given
-        var rule = noClasses().that().resideInAPackage("..repository..")
-                .should().dependOnClassesThat().resideInAPackage("..controller..");
-
         //expect
-        rule.check(javaClasses);
+        layerDependencies.check(REPOSITORY, CONTROLLER);
     }
 
     @Test
+    @Execution(ExecutionMode.CONCURRENT)
     void repositoriesShouldNotDependOnConfig() {
-        //given
-        var rule = noClasses().that().resideInAPackage("..repository..")
-                .should().dependOnClassesThat().resideInAPackage("..config..");
-
         //expect
-        rule.check(javaClasses);
+        layerDependencies.check(REPOSITORY, CONFIG);
     }
 
     @Test
+    @Execution(ExecutionMode.CONCURRENT)
     void modelShouldNotDependOnControllers() {
-        //given
-        var rule = noClasses().that().resideInAPackage("..model..")
-                .should().dependOnClassesThat().resideInAPackage("..controller..");
-
         //expect
-        rule.check(javaClasses);
+        layerDependencies.check(MODEL, CONTROLLER);
     }
 
     @Test
+    @Execution(ExecutionMode.CONCURRENT)
     void modelShouldNotDependOnConfigurations() {
-        //given
-        var rule = noClasses().that().resideInAPackage("..model..")
-                .should().dependOnClassesThat().resideInAPackage("..config..");
-
         //expect
-        rule.check(javaClasses);
+        layerDependencies.check(MODEL, CONFIG);
     }
 
     @Test
+    @Execution(ExecutionMode.CONCURRENT)
     void modelShouldNotDependOnRepositories() {
-        //given
-        var rule = noClasses().that().resideInAPackage("..model..")
-                .should().dependOnClassesThat().resideInAPackage("..repository..");
-
         //expect
-        rule.check(javaClasses);
+        layerDependencies.check(MODEL, REPOSITORY);
     }
 
     @Test
+    @Execution(ExecutionMode.CONCURRENT)
     void modelShouldNotDependOnServices() {
-        //given
-        var rule = noClasses().that().resideInAPackage("..model..")
-                .should().dependOnClassesThat().resideInAPackage("..service..");
-
         //expect
-        rule.check(javaClasses);
+        layerDependencies.check(MODEL, SERVICE);
     }
 }
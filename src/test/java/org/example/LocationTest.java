@@ -1,8 +1,6 @@
 package org.example;
 
 import com.tngtech.archunit.core.domain.JavaClasses;
-import com.tngtech.archunit.core.importer.ClassFileImporter;
-import com.tngtech.archunit.core.importer.ImportOption;
 import com.tngtech.archunit.lang.ArchRule;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -23,10 +21,7 @@ class LocationTest {
 
     @BeforeAll
     static void init() {
-        javaClasses = new ClassFileImporter()
-                .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_JARS)
-                .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS)
-                .importPackages("org.example");
+        javaClasses = ChangedClasses.affectedClasses(ImportedClasses.productionClasses());
     }
 
     @Test
@@ -36,7 +31,7 @@ class LocationTest {
                 .should().resideInAPackage("org.example.model");
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 
     @Test
@@ -47,7 +42,7 @@ class LocationTest {
                 .should().resideInAPackage("org.example.controller");
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 
     @Test
@@ -58,7 +53,7 @@ class LocationTest {
                 .should().resideInAPackage("org.example.config");
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 
     @Test
@@ -69,7 +64,7 @@ class LocationTest {
                 .should().resideInAPackage("org.example.repository");
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 
     @Test
@@ -80,6 +75,17 @@ class LocationTest {
                 .should().resideInAPackage("org.example.service");
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
+    }
+
+    @Test
+    void mapperShouldHaveProperLocationTest() {
+        //given
+        ArchRule rule = classes().that().areAnnotatedWith(Mapper.class)
+                .or().haveSimpleNameContaining("Mapper")
+                .should().resideInAPackage("org.example.mapper");
+
+        //expect
+        RuleRunner.check(rule, javaClasses);
     }
 }
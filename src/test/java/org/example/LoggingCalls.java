@@ -0,0 +1,302 @@
+package org.example;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.Frame;
+import org.objectweb.asm.tree.analysis.SourceValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Finds slf4j logging calls in method bodies and checks what it costs to make them, including when their level
+ * is disabled. Only arguments computed directly in the call are inspected, values passed through local variables
+ * are not followed. Loops are recognised by backward jumps, so callbacks such as {@code forEach} lambdas are
+ * not treated as loop bodies.
+ */
+final class LoggingCalls {
+
+    private static final String LOGGER = "org/slf4j/Logger";
+    private static final String MARKER_DESCRIPTOR = "Lorg/slf4j/Marker;";
+    private static final Set<String> LOGGING_METHODS = Set.of("trace", "debug", "info", "warn", "error");
+    private static final Set<String> GUARDED_LEVELS = Set.of("trace", "debug");
+    private static final Set<String> STRING_BUILDERS = Set.of("java/lang/StringBuilder", "java/lang/StringBuffer");
+    private static final Pattern GETTER = Pattern.compile("(get|is|has)[A-Z].*");
+    private static final Set<String> BOXES = Set.of("java/lang/Boolean", "java/lang/Byte", "java/lang/Character",
+            "java/lang/Short", "java/lang/Integer", "java/lang/Long", "java/lang/Float", "java/lang/Double");
+
+    private LoggingCalls() {
+    }
+
+    static ArchCondition<JavaClass> notBuildLogMessagesEagerly() {
+        return new ArchCondition<>("pass {} placeholders instead of concatenated or formatted log messages") {
+            @Override
+            public void check(JavaClass javaClass, ConditionEvents conditionEvents) {
+                for (LoggingCall call : loggingCalls(javaClass)) {
+                    if (call.argumentSources(call.messageIndex()).stream().anyMatch(LoggingCalls::buildsString)) {
+                        conditionEvents.add(SimpleConditionEvent.violated(javaClass, call.describe()
+                                + " builds its message eagerly instead of using {} placeholders in "
+                                + call.location()));
+                    }
+                }
+            }
+        };
+    }
+
+    static ArchCondition<JavaClass> notComputeUnguardedDebugArguments() {
+        return new ArchCondition<>("guard debug and trace calls with computed arguments by their level check") {
+            @Override
+            public void check(JavaClass javaClass, ConditionEvents conditionEvents) {
+                for (LoggingCall call : loggingCalls(javaClass)) {
+                    if (GUARDED_LEVELS.contains(call.level()) && call.computesArguments() && !call.isGuarded()) {
+                        conditionEvents.add(SimpleConditionEvent.violated(javaClass, call.describe()
+                                + " computes arguments without checking " + call.guardName() + "() in "
+                                + call.location()));
+                    }
+                }
+            }
+        };
+    }
+
+    static ArchCondition<JavaClass> notLogInsideLoops() {
+        return new ArchCondition<>("not log inside loops") {
+            @Override
+            public void check(JavaClass javaClass, ConditionEvents conditionEvents) {
+                for (LoggingCall call : loggingCalls(javaClass)) {
+                    if (call.isInsideLoop()) {
+                        conditionEvents.add(SimpleConditionEvent.violated(javaClass, call.describe()
+                                + " logs inside a loop in " + call.location()));
+                    }
+                }
+            }
+        };
+    }
+
+    private static List<LoggingCall> loggingCalls(JavaClass javaClass) {
+        var calls = new ArrayList<LoggingCall>();
+        for (MethodNode method : Bytecode.classNode(javaClass).methods) {
+            Frame<SourceValue>[] frames = null;
+            for (AbstractInsnNode instruction : method.instructions) {
+                if (isLoggerCall(instruction, LOGGING_METHODS)) {
+                    if (frames == null) {
+                        frames = Bytecode.sourceFrames(javaClass, method);
+                    }
+                    calls.add(new LoggingCall(javaClass, method, frames, (MethodInsnNode) instruction));
+                }
+            }
+        }
+        return calls;
+    }
+
+    private static boolean isLoggerCall(AbstractInsnNode instruction, Set<String> names) {
+        if (!(instruction instanceof MethodInsnNode)) {
+            return false;
+        }
+        var call = (MethodInsnNode) instruction;
+        return call.owner.equals(LOGGER) && names.contains(call.name);
+    }
+
+    private static boolean buildsString(AbstractInsnNode instruction) {
+        if (instruction instanceof InvokeDynamicInsnNode) {
+            return ((InvokeDynamicInsnNode) instruction).name.startsWith("makeConcat");
+        }
+        if (!(instruction instanceof MethodInsnNode)) {
+            return false;
+        }
+        var call = (MethodInsnNode) instruction;
+        return STRING_BUILDERS.contains(call.owner) && call.name.equals("toString")
+                || call.owner.equals("java/lang/String") && (call.name.equals("format") || call.name.equals("concat"));
+    }
+
+    private static final class LoggingCall {
+
+        private final JavaClass owner;
+        private final MethodNode method;
+        private final Frame<SourceValue>[] frames;
+        private final MethodInsnNode call;
+
+        private LoggingCall(JavaClass owner, MethodNode method, Frame<SourceValue>[] frames, MethodInsnNode call) {
+            this.owner = owner;
+            this.method = method;
+            this.frames = frames;
+            this.call = call;
+        }
+
+        private String level() {
+            return call.name;
+        }
+
+        private String guardName() {
+            return "is" + Character.toUpperCase(call.name.charAt(0)) + call.name.substring(1) + "Enabled";
+        }
+
+        private int messageIndex() {
+            var parameters = Type.getArgumentTypes(call.desc);
+            return parameters.length > 0 && parameters[0].getDescriptor().equals(MARKER_DESCRIPTOR) ? 1 : 0;
+        }
+
+        private Set<AbstractInsnNode> argumentSources(int argument) {
+            var frame = frames[indexOf(call)];
+            if (frame == null) {
+                return Set.of();
+            }
+            var argumentCount = Type.getArgumentTypes(call.desc).length;
+            return frame.getStack(frame.getStackSize() - argumentCount + argument).insns;
+        }
+
+        private boolean computesArguments() {
+            var argumentCount = Type.getArgumentTypes(call.desc).length;
+            for (int argument = messageIndex() + 1; argument < argumentCount; argument++) {
+                for (AbstractInsnNode source : argumentSources(argument)) {
+                    if (computesValue(source)
+                            || source.getOpcode() == Opcodes.ANEWARRAY && computesElements(source)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Varargs arrays are filled with {@code AASTORE} before the call, so their elements are found by looking for
+         * stores into the array created by {@code newArray}.
+         */
+        private boolean computesElements(AbstractInsnNode newArray) {
+            for (int index = indexOf(newArray) + 1; index < indexOf(call); index++) {
+                var frame = frames[index];
+                if (frame == null || method.instructions.get(index).getOpcode() != Opcodes.AASTORE) {
+                    continue;
+                }
+                var stackSize = frame.getStackSize();
+                if (frame.getStack(stackSize - 3).insns.stream().anyMatch(array -> isCopyOf(array, newArray))
+                        && frame.getStack(stackSize - 1).insns.stream().anyMatch(this::computesValue)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Autoboxing and getters without parameters, e.g. {@code entity.getId()}, are cheap on their own, but the
+         * boxed value or the getter's receiver may itself be computed, e.g. {@code list.size()}.
+         */
+        private boolean computesValue(AbstractInsnNode instruction) {
+            if (instruction instanceof InvokeDynamicInsnNode) {
+                return buildsString(instruction);
+            }
+            if (!(instruction instanceof MethodInsnNode)) {
+                return false;
+            }
+            var call = (MethodInsnNode) instruction;
+            if (!(BOXES.contains(call.owner) && call.name.equals("valueOf")) && !isGetter(call)) {
+                return true;
+            }
+            var frame = frames[indexOf(call)];
+            return frame != null && frame.getStack(frame.getStackSize() - 1).insns.stream().anyMatch(this::computesValue);
+        }
+
+        private static boolean isGetter(MethodInsnNode call) {
+            return call.getOpcode() != Opcodes.INVOKESTATIC && call.desc.startsWith("()")
+                    && GETTER.matcher(call.name).matches();
+        }
+
+        private boolean isCopyOf(AbstractInsnNode value, AbstractInsnNode original) {
+            if (value == original) {
+                return true;
+            }
+            var frame = frames[indexOf(value)];
+            return value.getOpcode() == Opcodes.DUP && frame != null
+                    && frame.getStack(frame.getStackSize() - 1).insns.contains(original);
+        }
+
+        /**
+         * A call is guarded when it lies between {@code isXxxEnabled()} and the target of the {@code IFEQ} jumping
+         * over it when the level is disabled, or after the target of an {@code IFNE} jumping over an early return or
+         * throw, as in {@code if (!log.isDebugEnabled()) return;}.
+         */
+        private boolean isGuarded() {
+            var callIndex = indexOf(call);
+            for (AbstractInsnNode instruction = call.getPrevious(); instruction != null;
+                 instruction = instruction.getPrevious()) {
+                if (!isLoggerCall(instruction, Set.of(guardName()))) {
+                    continue;
+                }
+                var next = nextInstruction(instruction);
+                if (next == null) {
+                    continue;
+                }
+                var targetIndex = next instanceof JumpInsnNode ? indexOf(((JumpInsnNode) next).label) : -1;
+                if (next.getOpcode() == Opcodes.IFEQ && targetIndex > callIndex
+                        || next.getOpcode() == Opcodes.IFNE && targetIndex < callIndex && exitsBefore(next, targetIndex)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private AbstractInsnNode nextInstruction(AbstractInsnNode instruction) {
+            var next = instruction.getNext();
+            while (next != null && next.getOpcode() < 0) {
+                next = next.getNext();
+            }
+            return next;
+        }
+
+        /**
+         * @return whether the code falling through {@code jump} returns or throws before reaching {@code targetIndex},
+         * without branching on the way
+         */
+        private boolean exitsBefore(AbstractInsnNode jump, int targetIndex) {
+            for (var instruction = jump.getNext(); instruction != null && indexOf(instruction) < targetIndex;
+                 instruction = instruction.getNext()) {
+                var opcode = instruction.getOpcode();
+                if (opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN || opcode == Opcodes.ATHROW) {
+                    return true;
+                }
+                if (instruction instanceof JumpInsnNode || opcode == Opcodes.TABLESWITCH
+                        || opcode == Opcodes.LOOKUPSWITCH) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private boolean isInsideLoop() {
+            var callIndex = indexOf(call);
+            for (AbstractInsnNode instruction : method.instructions) {
+                if (!(instruction instanceof JumpInsnNode)) {
+                    continue;
+                }
+                var jumpIndex = indexOf(instruction);
+                var targetIndex = indexOf(((JumpInsnNode) instruction).label);
+                if (targetIndex <= callIndex && callIndex < jumpIndex) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private String describe() {
+            return Bytecode.describe(owner, method) + " calls Logger." + call.name;
+        }
+
+        private String location() {
+            return Bytecode.locationOf(owner, call);
+        }
+
+        private int indexOf(AbstractInsnNode instruction) {
+            return method.instructions.indexOf(instruction);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.example;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchCondition;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks {@link LoggingCalls} against the logging calls in {@code org.example.fixtures.logging}.
+ */
+class LoggingCallsTest {
+
+    private static final Pattern METHOD_NAME = Pattern.compile("LoggingFixture\\.(\\w+)\\(");
+
+    private static JavaClasses fixtures;
+
+    @BeforeAll
+    static void init() {
+        fixtures = ImportedClasses.importPackages(List.of(), "org.example.fixtures.logging");
+    }
+
+    @Test
+    void shouldFindMessagesBuiltEagerly() {
+        //when
+        var violatingMethods = violatingMethods(LoggingCalls.notBuildLogMessagesEagerly());
+
+        //then
+        assertEquals(Set.of("violatingConcatenation", "violatingFormat"), violatingMethods);
+    }
+
+    @Test
+    void shouldFindUnguardedDebugArgumentsButAcceptIfAndEarlyExitGuards() {
+        //when
+        var violatingMethods = violatingMethods(LoggingCalls.notComputeUnguardedDebugArguments());
+
+        //then
+        assertEquals(Set.of("violatingUnguardedDebug", "violatingUnguardedVarargs",
+                "violatingUnguardedGetterOfComputedValue"), violatingMethods);
+    }
+
+    @Test
+    void shouldFindLoggingInsideLoopsButNotInCallbacks() {
+        //when
+        var violatingMethods = violatingMethods(LoggingCalls.notLogInsideLoops());
+
+        //then
+        assertEquals(Set.of("violatingLoop"), violatingMethods);
+    }
+
+    private static Set<String> violatingMethods(ArchCondition<JavaClass> condition) {
+        return classes().should(condition).evaluate(fixtures).getFailureReport().getDetails().stream()
+                .map(METHOD_NAME::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> matcher.group(1))
+                .collect(Collectors.toSet());
+    }
+}
@@ -1,8 +1,6 @@
 package org.example;
 
 import com.tngtech.archunit.core.domain.JavaClasses;
-import com.tngtech.archunit.core.importer.ClassFileImporter;
-import com.tngtech.archunit.core.importer.ImportOption;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.annotation.Bean;
@@ -24,10 +22,7 @@ class MethodTest {
 
     @BeforeAll
     static void init() {
-        javaClasses = new ClassFileImporter()
-                .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_JARS)
-                .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS)
-                .importPackages("org.example");
+        javaClasses = ChangedClasses.affectedClasses(ImportedClasses.productionClasses());
     }
 
     @Test
@@ -38,7 +33,19 @@ class MethodTest {
                 .should().haveRawReturnType(ResponseEntity.class);
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
+    }
+
+    @Test
+    void controllersShouldNotReachBlockingCalls() {
+        //given
+        var rule = methods().that().areNotPrivate()
+                .and().areDeclaredInClassesThat().areAnnotatedWith(RestController.class)
+                .and().haveRawReturnType(ResponseEntity.class)
+                .should(BlockingCalls.notReachBlockingCalls(BlockingCalls.MAX_DEPTH));
+
+        //expect
+        RuleRunner.check(rule, javaClasses);
     }
 
     @Test
@@ -49,7 +56,7 @@ class MethodTest {
                 .should().haveNameMatching(".*[fF]ind.*");
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 
     @Test
@@ -59,7 +66,7 @@ class MethodTest {
                 .should().bePublic();
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 
     @Test
@@ -69,7 +76,7 @@ class MethodTest {
                 .should().bePublic();
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 
     @Test
@@ -79,7 +86,7 @@ class MethodTest {
                 .should().bePrivate();
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 
     @Test
@@ -88,6 +95,6 @@ class MethodTest {
         var rule = methods().that().areAnnotatedWith(Bean.class)
                 .should().notHaveRawReturnType(Void.TYPE);
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 }
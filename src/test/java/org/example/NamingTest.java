@@ -1,8 +1,6 @@
 package org.example;
 
 import com.tngtech.archunit.core.domain.JavaClasses;
-import com.tngtech.archunit.core.importer.ClassFileImporter;
-import com.tngtech.archunit.core.importer.ImportOption;
 import com.tngtech.archunit.lang.ArchRule;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,10 +21,7 @@ class NamingTest {
 
     @BeforeAll
     static void init() {
-        javaClasses = new ClassFileImporter()
-                .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_JARS)
-                .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS)
-                .importPackages("org.example");
+        javaClasses = ChangedClasses.affectedClasses(ImportedClasses.productionClasses());
     }
 
     @Test
@@ -36,7 +31,7 @@ class NamingTest {
                 .should().haveSimpleNameContaining("Entity");
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 
     @Test
@@ -47,7 +42,7 @@ class NamingTest {
                 .should().haveSimpleNameContaining("Controller");
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 
     @Test
@@ -57,7 +52,7 @@ class NamingTest {
                 .should().haveSimpleNameContaining("Config");
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 
     @Test
@@ -67,7 +62,7 @@ class NamingTest {
                 .should().haveSimpleNameContaining("Repository");
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 
     @Test
@@ -77,6 +72,6 @@ class NamingTest {
                 .should().haveSimpleNameContaining("Service");
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 }
@@ -0,0 +1,170 @@
+package org.example;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaAnnotation;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaEnumConstant;
+import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+import org.example.model.AbstractEntity;
+import org.hibernate.annotations.BatchSize;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.ManyToMany;
+import javax.persistence.OneToMany;
+import javax.persistence.Version;
+import java.util.List;
+
+import static com.tngtech.archunit.core.domain.properties.CanBeAnnotated.Predicates.annotatedWith;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.fields;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.methods;
+
+class PersistencePerformanceTest {
+
+    private static JavaClasses javaClasses;
+
+    @BeforeAll
+    static void init() {
+        javaClasses = ChangedClasses.affectedClasses(ImportedClasses.productionClasses());
+    }
+
+    @Test
+    void entityCollectionsShouldNotBeFetchedEagerly() {
+        //given
+        var rule = fields().that().areDeclaredInClassesThat().areAssignableTo(AbstractEntity.class)
+                .and(annotatedWith(OneToMany.class).or(annotatedWith(ManyToMany.class)))
+                .should(notUseFetchType(FetchType.EAGER, OneToMany.class, ManyToMany.class));
+
+        //expect
+        RuleRunner.check(rule, javaClasses);
+    }
+
+    @Test
+    void entityCollectionsShouldBeLoadedInBatches() {
+        //given
+        var rule = fields().that().areDeclaredInClassesThat().areAssignableTo(AbstractEntity.class)
+                .and(annotatedWith(OneToMany.class).or(annotatedWith(ManyToMany.class))
+                        .or(annotatedWith(ElementCollection.class)))
+                .should().beAnnotatedWith(BatchSize.class);
+
+        //expect
+        RuleRunner.check(rule, javaClasses);
+    }
+
+    @Test
+    void entitiesShouldHaveVersion() {
+        //given
+        var rule = classes().that().areAnnotatedWith(Entity.class)
+                .should(haveFieldAnnotatedWith(Version.class));
+
+        //expect
+        RuleRunner.check(rule, javaClasses);
+    }
+
+    @Test
+    void entityIdsShouldNotUseIdentityGeneration() {
+        //given
+        var rule = fields().that().areAnnotatedWith(GeneratedValue.class)
+                .should(notUseGenerationType(GenerationType.IDENTITY));
+
+        //expect
+        RuleRunner.check(rule, javaClasses);
+    }
+
+    @Test
+    void repositoryMethodsReturningListShouldBePaged() {
+        //given
+        var rule = methods().that().areDeclaredInClassesThat().resideInAPackage("org.example.repository")
+                .and().arePublic()
+                .and().haveRawReturnType(List.class)
+                .should(havePagingParameter());
+
+        //expect
+        RuleRunner.check(rule, javaClasses);
+    }
+
+    private static ArchCondition<JavaField> notUseFetchType(FetchType fetchType,
+                                                            Class<?>... associationAnnotations) {
+        return new ArchCondition<>("not use fetch type " + fetchType) {
+            @Override
+            public void check(JavaField javaField, ConditionEvents conditionEvents) {
+                for (Class<?> associationAnnotation : associationAnnotations) {
+                    if (hasEnumAttribute(javaField, associationAnnotation.getName(), "fetch", fetchType)) {
+                        conditionEvents.add(SimpleConditionEvent.violated(javaField, "Field " + javaField.getFullName()
+                                + " fetches collection with " + fetchType + " in " + javaField.getSourceCodeLocation()));
+                    }
+                }
+            }
+        };
+    }
+
+    private static ArchCondition<JavaField> notUseGenerationType(GenerationType generationType) {
+        return new ArchCondition<>("not use generation type " + generationType) {
+            @Override
+            public void check(JavaField javaField, ConditionEvents conditionEvents) {
+                if (hasEnumAttribute(javaField, GeneratedValue.class.getName(), "strategy", generationType)) {
+                    conditionEvents.add(SimpleConditionEvent.violated(javaField, "Field " + javaField.getFullName()
+                            + " uses " + generationType + " id generation, which disables JDBC batching, in "
+                            + javaField.getSourceCodeLocation()));
+                }
+            }
+        };
+    }
+
+    private static ArchCondition<JavaClass> haveFieldAnnotatedWith(Class<?> annotation) {
+        return new ArchCondition<>("have field annotated with @" + annotation.getSimpleName()) {
+            @Override
+            public void check(JavaClass javaClass, ConditionEvents conditionEvents) {
+                if (javaClass.getAllFields().stream().noneMatch(field -> field.isAnnotatedWith(annotation.getName()))) {
+                    conditionEvents.add(SimpleConditionEvent.violated(javaClass, "Class " + javaClass.getName()
+                            + " has no field annotated with @" + annotation.getSimpleName()));
+                }
+            }
+        };
+    }
+
+    private static ArchCondition<JavaMethod> havePagingParameter() {
+        var pagingParameter = new DescribedPredicate<JavaClass>("paging parameter") {
+            @Override
+            public boolean apply(JavaClass parameterType) {
+                return parameterType.getSimpleName().endsWith("Pageable")
+                        || parameterType.getSimpleName().endsWith("PageRequest");
+            }
+        };
+        return new ArchCondition<>("have a parameter of type *Pageable or *PageRequest") {
+            @Override
+            public void check(JavaMethod javaMethod, ConditionEvents conditionEvents) {
+                if (javaMethod.getRawParameterTypes().stream().noneMatch(pagingParameter::apply)) {
+                    conditionEvents.add(SimpleConditionEvent.violated(javaMethod, "Method " + javaMethod.getFullName()
+                            + " returns an unbounded List without a paging parameter in "
+                            + javaMethod.getSourceCodeLocation()));
+                }
+            }
+        };
+    }
+
+    private static boolean hasEnumAttribute(JavaField javaField, String annotationType, String attribute,
+                                            Enum<?> value) {
+        for (JavaAnnotation<?> annotation : javaField.getAnnotations()) {
+            if (annotation.getRawType().getName().equals(annotationType)) {
+                var attributeValue = annotation.get(attribute);
+                if (attributeValue.isPresent() && attributeValue.get() instanceof JavaEnumConstant
+                        && ((JavaEnumConstant) attributeValue.get()).name().equals(value.name())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,134 @@
+package org.example;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Per-rule wall time, classes examined, dependency edges visited and violation count.
+ * Enabled with {@code -Darchunit.metrics=true}; the report is written to {@code target/archunit/metrics.json}
+ * and {@code target/archunit/metrics.txt} (sorted by wall time) by {@link ArchitectureRunExtension} when the
+ * test run finishes. ArchUnit rules examine every class they are evaluated against once, to select the classes,
+ * members or dependencies their condition applies to, so their classes examined are the evaluated classes, e.g.
+ * only the affected ones in changed-class mode. They do not expose the dependency edges they follow, so edges are
+ * only reported by checks that count them while evaluating and left empty instead of being estimated otherwise.
+ * When disabled, rules are evaluated without any bookkeeping.
+ */
+final class RuleMetrics {
+
+    static final boolean ENABLED = Boolean.getBoolean("archunit.metrics");
+
+    private static final Path JSON_REPORT = RuleRunner.VIOLATIONS_REPORT.resolveSibling("metrics.json");
+    private static final Path TEXT_REPORT = RuleRunner.VIOLATIONS_REPORT.resolveSibling("metrics.txt");
+
+    private static final int NOT_MEASURED = -1;
+
+    private static final Queue<Entry> ENTRIES = new ConcurrentLinkedQueue<>();
+
+    private RuleMetrics() {
+    }
+
+    static EvaluationResult evaluate(ArchRule rule, JavaClasses javaClasses) {
+        if (!ENABLED) {
+            return rule.evaluate(javaClasses);
+        }
+        var start = System.nanoTime();
+        var result = rule.evaluate(javaClasses);
+        record(rule.getDescription(), System.nanoTime() - start, javaClasses.size(), NOT_MEASURED,
+                result.getFailureReport().getDetails().size());
+        return result;
+    }
+
+    static void record(String rule, long wallTimeNanos, int classesExamined, long edgesVisited, int violations) {
+        if (ENABLED) {
+            ENTRIES.add(new Entry(rule, wallTimeNanos, classesExamined, edgesVisited, violations));
+        }
+    }
+
+    static void writeReports() {
+        if (!ENABLED) {
+            return;
+        }
+        var entries = new ArrayList<>(ENTRIES);
+        entries.sort(Comparator.comparingLong((Entry entry) -> entry.wallTimeNanos).reversed()
+                .thenComparing(entry -> entry.rule));
+        try {
+            Files.createDirectories(JSON_REPORT.getParent());
+            Files.writeString(JSON_REPORT, toJson(entries));
+            Files.write(TEXT_REPORT, toText(entries));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write rule metrics to " + JSON_REPORT.getParent(), e);
+        }
+    }
+
+    private static String toJson(List<Entry> entries) {
+        return entries.stream()
+                .map(entry -> String.format(Locale.ROOT,
+                        "  {\"rule\": \"%s\", \"wallTimeMillis\": %.3f, \"classesExamined\": %s, "
+                                + "\"dependencyEdgesVisited\": %s, \"violations\": %d}",
+                        escape(entry.rule), entry.wallTimeMillis(), measured(entry.classesExamined, "null"),
+                        measured(entry.edgesVisited, "null"), entry.violations))
+                .collect(Collectors.joining(",\n", "[\n", "\n]\n"));
+    }
+
+    private static List<String> toText(List<Entry> entries) {
+        var lines = new ArrayList<String>();
+        lines.add(String.format(Locale.ROOT, "%12s %10s %12s %10s  %s", "time [ms]", "classes", "edges", "violations", "rule"));
+        entries.forEach(entry -> lines.add(String.format(Locale.ROOT, "%12.3f %10s %12s %10d  %s",
+                entry.wallTimeMillis(), measured(entry.classesExamined, "-"), measured(entry.edgesVisited, "-"),
+                entry.violations, entry.rule)));
+        return lines;
+    }
+
+    private static String measured(long count, String notMeasured) {
+        return count == NOT_MEASURED ? notMeasured : Long.toString(count);
+    }
+
+    private static String escape(String value) {
+        var escaped = new StringBuilder();
+        for (char character : value.toCharArray()) {
+            if (character == '"' || character == '\\') {
+                escaped.append('\\').append(character);
+            } else if (character < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) character));
+            } else {
+                escaped.append(character);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static final class Entry {
+
+        private final String rule;
+        private final long wallTimeNanos;
+        private final int classesExamined;
+        private final long edgesVisited;
+        private final int violations;
+
+        private Entry(String rule, long wallTimeNanos, int classesExamined, long edgesVisited, int violations) {
+            this.rule = rule;
+            this.wallTimeNanos = wallTimeNanos;
+            this.classesExamined = classesExamined;
+            this.edgesVisited = edgesVisited;
+            this.violations = violations;
+        }
+
+        private double wallTimeMillis() {
+            return wallTimeNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.example;
+
+import com.tngtech.archunit.base.HasDescription;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Evaluates rules and collects their violations into one report, written to {@code target/} by
+ * {@link ArchitectureRunExtension} when the test run finishes. Safe to call from concurrently running tests;
+ * every check is reported under the test that ran it, sorted by test and rule description, so rules with
+ * the same description never hide each other and the report does not depend on the order in which rules finished.
+ */
+final class RuleRunner {
+
+    static final Path VIOLATIONS_REPORT =
+            Paths.get(System.getProperty("archunit.report.dir", "target/archunit"), "violations.txt");
+
+    private static final Queue<RuleResult> RESULTS = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<String> CURRENT_TEST = new ThreadLocal<>();
+
+    private RuleRunner() {
+    }
+
+    static void check(ArchRule rule, JavaClasses javaClasses) {
+        check(rule, RuleMetrics.evaluate(rule, javaClasses));
+    }
+
+    static void check(HasDescription rule, EvaluationResult result) {
+        var violations = new ArrayList<>(result.getFailureReport().getDetails());
+        violations.sort(null);
+        RESULTS.add(new RuleResult(currentTest(), rule.getDescription(), violations));
+
+        ArchRule.Assertions.assertNoViolation(result);
+    }
+
+    /**
+     * @return name of the test running on this thread, or an empty string outside of tests
+     */
+    static String currentTest() {
+        var test = CURRENT_TEST.get();
+        return test == null ? "" : test;
+    }
+
+    static void startTest(String test) {
+        CURRENT_TEST.set(test);
+    }
+
+    static void finishTest() {
+        CURRENT_TEST.remove();
+    }
+
+    static boolean hasViolations() {
+        return RESULTS.stream().anyMatch(result -> !result.violations.isEmpty());
+    }
+
+    static void writeReport() {
+        var results = new ArrayList<>(RESULTS);
+        results.sort(Comparator.comparing((RuleResult result) -> result.test).thenComparing(result -> result.rule));
+        var lines = new ArrayList<String>();
+        for (RuleResult result : results) {
+            lines.add((result.violations.isEmpty() ? "[PASSED] " : "[FAILED, " + result.violations.size() + " violations] ")
+                    + result.rule + (result.test.isEmpty() ? "" : " (" + result.test + ")"));
+            result.violations.forEach(violation -> lines.add("    " + violation));
+        }
+        try {
+            Files.createDirectories(VIOLATIONS_REPORT.getParent());
+            Files.write(VIOLATIONS_REPORT, lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write architecture report " + VIOLATIONS_REPORT, e);
+        }
+    }
+
+    private static final class RuleResult {
+
+        private final String test;
+        private final String rule;
+        private final List<String> violations;
+
+        private RuleResult(String test, String rule, List<String> violations) {
+            this.test = test;
+            this.rule = rule;
+            this.violations = violations;
+        }
+    }
+}
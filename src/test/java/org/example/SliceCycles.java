@@ -0,0 +1,275 @@
+package org.example;
+
+import com.tngtech.archunit.base.PackageMatcher;
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Cycle check between slices based on Tarjan's strongly connected components.
+ * Slices are indexed by integers and every pair of dependent slices is stored once. A first pass over all dependency
+ * edges builds the slice graph, a second one collects example dependencies only for edges inside strongly connected
+ * components, so runtime is linear in the number of dependency edges. Each strongly connected component is reported
+ * once, with at most {@code maxEdgesPerCycle} example dependencies, so memory stays bounded no matter how many
+ * cycles exist.
+ */
+final class SliceCycles {
+
+    private final String slicePattern;
+    private final PackageMatcher sliceMatcher;
+    private final int maxEdgesPerCycle;
+
+    SliceCycles(String slicePattern, int maxEdgesPerCycle) {
+        this.slicePattern = slicePattern;
+        this.sliceMatcher = PackageMatcher.of(slicePattern);
+        this.maxEdgesPerCycle = maxEdgesPerCycle;
+    }
+
+    void check(JavaClasses javaClasses) {
+        check(javaClasses, javaClasses);
+    }
+
+    /**
+     * Finds cycles in the whole graph of {@code javaClasses}, but reports only those passing through a slice
+     * of {@code affectedClasses}.
+     */
+    void check(JavaClasses javaClasses, JavaClasses affectedClasses) {
+        RuleRunner.check(this::description, evaluate(javaClasses, affectedClasses));
+    }
+
+    EvaluationResult evaluate(JavaClasses javaClasses, JavaClasses affectedClasses) {
+        var affectedSlices = new HashSet<String>();
+        for (JavaClass javaClass : affectedClasses) {
+            sliceName(javaClass.getPackageName()).ifPresent(affectedSlices::add);
+        }
+        var start = System.nanoTime();
+        var graph = buildGraph(javaClasses);
+        var events = new ConditionEvents();
+        for (Cycle cycle : findCycles(graph, javaClasses)) {
+            if (cycle.slices.stream().anyMatch(affectedSlices::contains)) {
+                events.add(SimpleConditionEvent.violated(cycle, cycle.describe()));
+            }
+        }
+        RuleMetrics.record(description(), System.nanoTime() - start, graph.examinedClasses, graph.visitedEdges,
+                events.getViolating().size());
+        return new EvaluationResult(this::description, events, Priority.MEDIUM);
+    }
+
+    private String description() {
+        return "slices matching '" + slicePattern + "' should be free of cycles";
+    }
+
+    private SliceGraph buildGraph(JavaClasses javaClasses) {
+        var graph = new SliceGraph();
+        for (JavaClass javaClass : javaClasses) {
+            var origin = graph.sliceOf(javaClass);
+            if (origin < 0) {
+                continue;
+            }
+            graph.examinedClasses++;
+            for (Dependency dependency : javaClass.getDirectDependenciesFromSelf()) {
+                graph.visitedEdges++;
+                var target = graph.sliceOf(dependency.getTargetClass());
+                if (target >= 0 && target != origin) {
+                    graph.addEdge(origin, target);
+                }
+            }
+        }
+        return graph;
+    }
+
+    private List<Cycle> findCycles(SliceGraph graph, JavaClasses javaClasses) {
+        var componentOfSlice = new int[graph.slices.size()];
+        Arrays.fill(componentOfSlice, -1);
+        var cycleComponents = new ArrayList<int[]>();
+        for (int[] component : graph.stronglyConnectedComponents()) {
+            if (component.length > 1) {
+                for (int slice : component) {
+                    componentOfSlice[slice] = cycleComponents.size();
+                }
+                cycleComponents.add(component);
+            }
+        }
+        if (cycleComponents.isEmpty()) {
+            return List.of();
+        }
+
+        var examples = new ArrayList<List<String>>(cycleComponents.size());
+        cycleComponents.forEach(component -> examples.add(new ArrayList<>()));
+        for (JavaClass javaClass : javaClasses) {
+            var origin = graph.sliceOf(javaClass);
+            if (origin < 0 || componentOfSlice[origin] < 0
+                    || examples.get(componentOfSlice[origin]).size() == maxEdgesPerCycle) {
+                continue;
+            }
+            var componentExamples = examples.get(componentOfSlice[origin]);
+            for (Dependency dependency : javaClass.getDirectDependenciesFromSelf()) {
+                var target = graph.sliceOf(dependency.getTargetClass());
+                if (target >= 0 && target != origin && componentOfSlice[target] == componentOfSlice[origin]) {
+                    componentExamples.add(dependency.getDescription());
+                    if (componentExamples.size() == maxEdgesPerCycle) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        var cycles = new ArrayList<Cycle>(cycleComponents.size());
+        for (int component = 0; component < cycleComponents.size(); component++) {
+            var memberSlices = new ArrayList<String>();
+            for (int slice : cycleComponents.get(component)) {
+                memberSlices.add(graph.slices.get(slice));
+            }
+            memberSlices.sort(null);
+            var componentExamples = examples.get(component);
+            componentExamples.sort(null);
+            cycles.add(new Cycle(memberSlices, componentExamples));
+        }
+        cycles.sort(Comparator.comparing(cycle -> cycle.slices.toString()));
+        return cycles;
+    }
+
+    private Optional<String> sliceName(String packageName) {
+        var match = sliceMatcher.match(packageName);
+        if (!match.isPresent()) {
+            return Optional.empty();
+        }
+        var groups = new ArrayList<String>();
+        for (int group = 1; group <= match.get().getNumberOfGroups(); group++) {
+            groups.add(match.get().getGroup(group));
+        }
+        return Optional.of(String.join(" - ", groups));
+    }
+
+    static final class Cycle {
+
+        private final List<String> slices;
+        private final List<String> exampleDependencies;
+
+        private Cycle(List<String> slices, List<String> exampleDependencies) {
+            this.slices = slices;
+            this.exampleDependencies = exampleDependencies;
+        }
+
+        private String describe() {
+            var lines = new ArrayList<String>();
+            lines.add("Cycle detected between slices " + slices + ":");
+            exampleDependencies.forEach(dependency -> lines.add("  - " + dependency));
+            return String.join(System.lineSeparator(), lines);
+        }
+    }
+
+    private final class SliceGraph {
+
+        private final Map<String, Integer> sliceByPackage = new HashMap<>();
+        private final Map<String, Integer> indexBySlice = new HashMap<>();
+        private final List<String> slices = new ArrayList<>();
+        private final List<int[]> adjacency = new ArrayList<>();
+        private final List<Integer> adjacencySizes = new ArrayList<>();
+        private final Set<Long> edges = new HashSet<>();
+        private int examinedClasses;
+        private long visitedEdges;
+
+        private int sliceOf(JavaClass javaClass) {
+            return sliceByPackage.computeIfAbsent(javaClass.getPackageName(), packageName ->
+                    sliceName(packageName).map(sliceName -> indexBySlice.computeIfAbsent(sliceName, slice -> {
+                        slices.add(slice);
+                        adjacency.add(new int[4]);
+                        adjacencySizes.add(0);
+                        return slices.size() - 1;
+                    })).orElse(-1));
+        }
+
+        private void addEdge(int origin, int target) {
+            if (edges.add(edgeKey(origin, target))) {
+                appendNeighbour(origin, target);
+            }
+        }
+
+        private void appendNeighbour(int origin, int target) {
+            var neighbours = adjacency.get(origin);
+            int size = adjacencySizes.get(origin);
+            if (size == neighbours.length) {
+                neighbours = Arrays.copyOf(neighbours, size * 2);
+                adjacency.set(origin, neighbours);
+            }
+            neighbours[size] = target;
+            adjacencySizes.set(origin, size + 1);
+        }
+
+        private List<int[]> stronglyConnectedComponents() {
+            int sliceCount = slices.size();
+            var index = new int[sliceCount];
+            var lowLink = new int[sliceCount];
+            var onStack = new boolean[sliceCount];
+            Arrays.fill(index, -1);
+            var componentStack = new ArrayDeque<Integer>();
+            var components = new ArrayList<int[]>();
+            int nextIndex = 0;
+
+            for (int root = 0; root < sliceCount; root++) {
+                if (index[root] >= 0) {
+                    continue;
+                }
+                Deque<int[]> callStack = new ArrayDeque<>();
+                callStack.push(new int[]{root, 0});
+                index[root] = lowLink[root] = nextIndex++;
+                componentStack.push(root);
+                onStack[root] = true;
+
+                while (!callStack.isEmpty()) {
+                    var frame = callStack.peek();
+                    int slice = frame[0];
+                    if (frame[1] < adjacencySizes.get(slice)) {
+                        int neighbour = adjacency.get(slice)[frame[1]++];
+                        if (index[neighbour] < 0) {
+                            index[neighbour] = lowLink[neighbour] = nextIndex++;
+                            componentStack.push(neighbour);
+                            onStack[neighbour] = true;
+                            callStack.push(new int[]{neighbour, 0});
+                        } else if (onStack[neighbour]) {
+                            lowLink[slice] = Math.min(lowLink[slice], index[neighbour]);
+                        }
+                        continue;
+                    }
+                    callStack.pop();
+                    if (!callStack.isEmpty()) {
+                        int parent = callStack.peek()[0];
+                        lowLink[parent] = Math.min(lowLink[parent], lowLink[slice]);
+                    }
+                    if (lowLink[slice] == index[slice]) {
+                        var component = new ArrayList<Integer>();
+                        int member;
+                        do {
+                            member = componentStack.pop();
+                            onStack[member] = false;
+                            component.add(member);
+                        } while (member != slice);
+                        components.add(component.stream().mapToInt(Integer::intValue).toArray());
+                    }
+                }
+            }
+            return components;
+        }
+
+        private long edgeKey(int origin, int target) {
+            return ((long) origin << 32) | target;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.resideInAPackage;
+import static com.tngtech.archunit.library.dependencies.SlicesRuleDefinition.slices;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link SliceCycles} against the cycles {@code a -> b -> c -> a} and {@code e -> f -> e} in
+ * {@code org.example.fixtures.cycles}.
+ */
+class SliceCyclesTest {
+
+    private static final String SLICES = "org.example.fixtures.cycles.(*)..";
+
+    private static JavaClasses fixtures;
+
+    @BeforeAll
+    static void init() {
+        fixtures = ImportedClasses.importPackages(List.of(), "org.example.fixtures.cycles");
+    }
+
+    @Test
+    void shouldReportEveryStronglyConnectedComponentOnce() {
+        //given
+        var sliceCycles = new SliceCycles(SLICES, 20);
+
+        //when
+        var violations = sliceCycles.evaluate(fixtures, fixtures).getFailureReport().getDetails();
+
+        //then
+        assertEquals(2, violations.size(), violations.toString());
+        assertTrue(violations.get(0).startsWith("Cycle detected between slices [a, b, c]:"), violations.get(0));
+        assertTrue(violations.get(1).startsWith("Cycle detected between slices [e, f]:"), violations.get(1));
+    }
+
+    @Test
+    void shouldOnlyGiveExamplesOfDependenciesInsideTheCycle() {
+        //given
+        var sliceCycles = new SliceCycles(SLICES, 20);
+
+        //when
+        var violations = sliceCycles.evaluate(fixtures, fixtures).getFailureReport().getDetails();
+
+        //then
+        var examples = violations.get(0).lines().skip(1).toArray();
+        assertEquals(3, examples.length, violations.get(0));
+        assertFalse(violations.get(0).contains("cycles.d.D"), violations.get(0));
+    }
+
+    @Test
+    void shouldLimitExamplesPerCycle() {
+        //given
+        var sliceCycles = new SliceCycles(SLICES, 1);
+
+        //when
+        var violations = sliceCycles.evaluate(fixtures, fixtures).getFailureReport().getDetails();
+
+        //then
+        assertEquals(2, violations.get(0).lines().count(), violations.get(0));
+    }
+
+    @Test
+    void shouldOnlyReportCyclesThroughAffectedSlices() {
+        //given
+        var sliceCycles = new SliceCycles(SLICES, 20);
+        var affectedClasses = fixtures.that(resideInAPackage("..cycles.d..").or(resideInAPackage("..cycles.f..")));
+
+        //when
+        var violations = sliceCycles.evaluate(fixtures, affectedClasses).getFailureReport().getDetails();
+
+        //then
+        assertEquals(1, violations.size(), violations.toString());
+        assertTrue(violations.get(0).startsWith("Cycle detected between slices [e, f]:"), violations.get(0));
+    }
+
+    @Test
+    void shouldFindTheSameCyclesAsArchUnit() {
+        //given
+        var rule = slices().matching(SLICES).should().beFreeOfCycles();
+
+        //when
+        var violations = rule.evaluate(fixtures).getFailureReport().getDetails();
+
+        //then
+        assertEquals(2, violations.size(), violations.toString());
+        assertTrue(violations.stream().anyMatch(violation -> violation.contains("Slice a -> Slice b -> Slice c")),
+                violations.toString());
+        assertTrue(violations.stream().anyMatch(violation -> violation.contains("Slice e -> Slice f")),
+                violations.toString());
+    }
+}
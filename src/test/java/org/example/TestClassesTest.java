@@ -1,8 +1,6 @@
 package org.example;
 
 import com.tngtech.archunit.core.domain.JavaClasses;
-import com.tngtech.archunit.core.importer.ClassFileImporter;
-import com.tngtech.archunit.core.importer.ImportOption;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -17,9 +15,7 @@ class TestClassesTest {
 
     @BeforeAll
     static void init() {
-        javaClasses = new ClassFileImporter()
-                .withImportOption(ImportOption.Predefined.ONLY_INCLUDE_TESTS)
-                .importPackages("org.example");
+        javaClasses = ImportedClasses.testClasses();
     }
 
     @Test
@@ -29,7 +25,7 @@ class TestClassesTest {
                 .should().beDeclaredInClassesThat().haveSimpleNameEndingWith("Test");
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 
     @Test
@@ -39,7 +35,7 @@ class TestClassesTest {
                 .should().beDeclaredInClassesThat().arePackagePrivate();
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 
     @Test
@@ -51,6 +47,6 @@ class TestClassesTest {
                 .should().notBePublic();
 
         //expect
-        rule.check(javaClasses);
+        RuleRunner.check(rule, javaClasses);
     }
 }
@@ -0,0 +1,130 @@
+package org.example.async;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PooledExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PooledExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        SecurityContextHolder.clearContext();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void tasksShouldRunWithSubmittersSecurityContext() throws Exception {
+        //given
+        executor = executor(RejectionPolicy.ABORT);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", "secret"));
+
+        //when
+        var submitted = executor.submit(PooledExecutorTest::currentUser);
+        SecurityContextHolder.clearContext();
+        var afterwards = executor.submit(PooledExecutorTest::currentUser);
+
+        //then
+        assertEquals("alice", submitted.get(10, TimeUnit.SECONDS));
+        assertNull(afterwards.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void abortPolicyShouldRejectTasksWhenSaturated() throws InterruptedException {
+        //given
+        executor = executor(RejectionPolicy.ABORT);
+        saturate();
+
+        //when
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> {
+        }));
+
+        //then
+        var stats = executor.stats();
+        assertEquals(1, stats.getRejectedTasks());
+        assertEquals(1, stats.getQueueDepth());
+        assertEquals(0, stats.getQueueRemainingCapacity());
+    }
+
+    @Test
+    void callerRunsPolicyShouldRunTasksOnSubmitterWhenSaturated() throws InterruptedException {
+        //given
+        executor = executor(RejectionPolicy.CALLER_RUNS);
+        saturate();
+        var runner = new AtomicReference<Thread>();
+
+        //when
+        executor.execute(() -> runner.set(Thread.currentThread()));
+
+        //then
+        assertEquals(Thread.currentThread(), runner.get());
+        assertEquals(1, executor.stats().getRejectedTasks());
+    }
+
+    @Test
+    void shutdownShouldWaitForQueuedTasks() {
+        //given
+        executor = executor(RejectionPolicy.ABORT);
+        var finished = new AtomicBoolean();
+        executor.execute(this::awaitRelease);
+        executor.execute(() -> finished.set(true));
+
+        //when
+        CompletableFuture.runAsync(release::countDown);
+        executor.shutdown();
+
+        //then
+        assertTrue(finished.get());
+        assertTrue(executor.getThreadPoolExecutor().isTerminated());
+    }
+
+    private PooledExecutor executor(RejectionPolicy rejectionPolicy) {
+        var pooled = new PooledExecutor("test", 1, 1, 1, rejectionPolicy);
+        pooled.initialize();
+        return pooled;
+    }
+
+    /**
+     * Occupies the only thread and the only queue slot.
+     */
+    private void saturate() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.execute(this::awaitRelease);
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String currentUser() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+}
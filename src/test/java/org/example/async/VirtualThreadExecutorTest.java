@@ -0,0 +1,141 @@
+package org.example.async;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the executor with platform threads, so it is tested on JDKs without virtual threads as well.
+ */
+class VirtualThreadExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void supportShouldMatchRuntime() {
+        //expect
+        assertEquals(Runtime.version().feature() >= 21, VirtualThreadExecutor.isSupported());
+    }
+
+    @Test
+    void tasksShouldRunWithSubmittersSecurityContext() throws Exception {
+        //given
+        var executor = executor(1, RejectionPolicy.ABORT, Thread::new);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", "secret"));
+
+        //when
+        var user = executor.submit(() -> SecurityContextHolder.getContext().getAuthentication().getName());
+
+        //then
+        assertEquals("alice", user.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void abortPolicyShouldRejectTasksOverMaxConcurrency() throws InterruptedException {
+        //given
+        var executor = executor(1, RejectionPolicy.ABORT, Thread::new);
+        saturate(executor);
+
+        //expect
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> {
+        }));
+        assertEquals(1, executor.stats().getRejectedTasks());
+    }
+
+    @Test
+    void callerRunsPolicyShouldRunTasksOnSubmitterOverMaxConcurrency() throws InterruptedException {
+        //given
+        var executor = executor(1, RejectionPolicy.CALLER_RUNS, Thread::new);
+        saturate(executor);
+        var runner = new AtomicReference<Thread>();
+
+        //when
+        executor.execute(() -> runner.set(Thread.currentThread()));
+
+        //then
+        assertEquals(Thread.currentThread(), runner.get());
+        assertEquals(1, executor.stats().getRejectedTasks());
+    }
+
+    @Test
+    void failingThreadCreationShouldReturnPermit() throws Exception {
+        //given
+        var failures = new AtomicBoolean(true);
+        ThreadFactory factory = runnable -> {
+            if (failures.getAndSet(false)) {
+                throw new OutOfMemoryError("unable to create native thread");
+            }
+            return new Thread(runnable);
+        };
+        var executor = executor(1, RejectionPolicy.ABORT, factory);
+
+        //when
+        assertThrows(OutOfMemoryError.class, () -> executor.execute(() -> {
+        }));
+        var next = executor.submit(() -> "ran");
+
+        //then
+        assertEquals("ran", next.get(10, TimeUnit.SECONDS));
+        assertEquals(0, executor.stats().getRejectedTasks());
+    }
+
+    @Test
+    void destroyShouldWaitForTasksInFlightAndRejectNewOnes() throws Exception {
+        //given
+        var executor = executor(2, RejectionPolicy.CALLER_RUNS, Thread::new);
+        var finished = new AtomicBoolean();
+        executor.execute(() -> {
+            awaitRelease();
+            finished.set(true);
+        });
+
+        //when
+        new Thread(release::countDown).start();
+        executor.destroy();
+
+        //then
+        assertTrue(finished.get());
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> {
+        }));
+    }
+
+    private VirtualThreadExecutor executor(int maxConcurrency, RejectionPolicy rejectionPolicy,
+                                           ThreadFactory threadFactory) {
+        return new VirtualThreadExecutor("test", maxConcurrency, rejectionPolicy, threadFactory);
+    }
+
+    private void saturate(VirtualThreadExecutor executor) throws InterruptedException {
+        var started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
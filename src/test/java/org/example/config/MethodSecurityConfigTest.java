@@ -0,0 +1,254 @@
+package org.example.config;
+
+import org.example.security.CachingPreInvocationAdvice;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.autoproxy.InfrastructureAdvisorAutoProxyCreator;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PostAuthorize;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.access.prepost.PreFilter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Calls secured methods through the interceptor configured by {@link MethodSecurityConfig} and checks which
+ * decisions {@link CachingPreInvocationAdvice} caches.
+ */
+class MethodSecurityConfigTest {
+
+    private AnnotationConfigApplicationContext context;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void decisionsShouldBeCachedPerAuthorities() {
+        //given
+        var documents = documents(30);
+
+        //when
+        authenticate("alice", "ROLE_ADMIN");
+        documents.read("bob", "report");
+        documents.read("bob", "report");
+        authenticate("alice", "ROLE_USER");
+
+        //then
+        assertThrows(AccessDeniedException.class, () -> documents.read("bob", "report"));
+        var stats = advice().stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+    }
+
+    @Test
+    void onlyReferencedArgumentsShouldBePartOfTheKey() {
+        //given
+        var documents = documents(30);
+        authenticate("alice", "ROLE_USER");
+
+        //when
+        documents.read("public", "report");
+        documents.read("public", "minutes");
+
+        //then
+        assertThrows(AccessDeniedException.class, () -> documents.read("bob", "report"));
+        var stats = advice().stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+    }
+
+    @Test
+    void decisionsShouldExpireAfterTimeToLive() throws InterruptedException {
+        //given
+        var documents = documents(1);
+        authenticate("alice", "ROLE_ADMIN");
+        documents.read("bob", "report");
+
+        //when
+        documents.read("bob", "report");
+        Thread.sleep(1_100);
+        documents.read("bob", "report");
+
+        //then
+        var stats = advice().stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+    }
+
+    @Test
+    void invalidateShouldDropDecisionsOfThePrincipal() {
+        //given
+        var documents = documents(30);
+        authenticate("bob", "ROLE_ADMIN");
+        documents.read("bob", "report");
+        authenticate("alice", "ROLE_ADMIN");
+        documents.read("bob", "report");
+
+        //when
+        advice().invalidate("alice");
+        documents.read("bob", "report");
+        authenticate("bob", "ROLE_ADMIN");
+        documents.read("bob", "report");
+
+        //then
+        var stats = advice().stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(3, stats.getMisses());
+    }
+
+    @Test
+    void preFilterMethodsShouldBypassTheCache() {
+        //given
+        var documents = documents(30);
+        authenticate("alice", "ROLE_USER");
+
+        //when
+        var first = documents.readAll(new ArrayList<>(List.of("report", "secret")));
+        var second = documents.readAll(new ArrayList<>(List.of("report", "secret")));
+
+        //then
+        assertEquals(List.of("report"), first);
+        assertEquals(List.of("report"), second);
+        var stats = advice().stats();
+        assertEquals(0, stats.getHits() + stats.getMisses());
+        assertEquals(2, stats.getUncacheable());
+    }
+
+    @Test
+    void expressionsReadingPrincipalOrBeansShouldBypassTheCache() {
+        //given
+        var documents = documents(30);
+        authenticate("alice", "ROLE_USER");
+
+        //when
+        documents.readOwn("alice");
+        documents.readOwn("alice");
+        documents.readShared("public");
+        documents.readShared("public");
+
+        //then
+        var stats = advice().stats();
+        assertEquals(0, stats.getHits() + stats.getMisses());
+        assertEquals(4, stats.getUncacheable());
+        assertEquals(0, stats.getSize());
+    }
+
+    @Test
+    void methodsWithoutPreAuthorizeShouldNotKeyOnArguments() {
+        //given
+        var documents = documents(30);
+        authenticate("alice", "ROLE_USER");
+
+        //when
+        documents.describe(new Object());
+        documents.describe(new Object());
+
+        //then
+        var stats = advice().stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void variablesThatAreNotParametersShouldBypassTheCache() {
+        //given
+        var documents = documents(30);
+        authenticate("alice", "ROLE_ADMIN");
+
+        //when
+        documents.archive("report");
+        documents.archive("report");
+
+        //then
+        var stats = advice().stats();
+        assertEquals(0, stats.getHits() + stats.getMisses());
+        assertEquals(2, stats.getUncacheable());
+    }
+
+    private Documents documents(long timeToLiveSeconds) {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test",
+                Map.of("security.decision-cache.time-to-live-seconds", timeToLiveSeconds)));
+        context.register(MethodSecurityConfig.class, SecuredBeans.class);
+        context.refresh();
+        return context.getBean(Documents.class);
+    }
+
+    private CachingPreInvocationAdvice advice() {
+        return context.getBean(CachingPreInvocationAdvice.class);
+    }
+
+    private static void authenticate(String name, String authority) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(name, "password",
+                AuthorityUtils.createAuthorityList(authority)));
+    }
+
+    @Configuration
+    static class SecuredBeans {
+
+        @Bean
+        static InfrastructureAdvisorAutoProxyCreator autoProxyCreator() {
+            return new InfrastructureAdvisorAutoProxyCreator();
+        }
+
+        @Bean
+        Documents documents() {
+            return new Documents();
+        }
+    }
+
+    static class Documents {
+
+        @PreAuthorize("hasRole('ADMIN') or #owner == 'public'")
+        String read(String owner, String title) {
+            return owner + "/" + title;
+        }
+
+        @PreAuthorize("hasRole('USER') and #owner == authentication.name")
+        String readOwn(String owner) {
+            return owner;
+        }
+
+        @PreAuthorize("@documents.isPublic(#owner)")
+        String readShared(String owner) {
+            return owner;
+        }
+
+        @PreAuthorize("hasRole('ADMIN') or #folder == 'public'")
+        String archive(String title) {
+            return title;
+        }
+
+        @PostAuthorize("returnObject != null")
+        String describe(Object document) {
+            return String.valueOf(document);
+        }
+
+        @PreFilter("hasRole('ADMIN') or filterObject != 'secret'")
+        List<String> readAll(List<String> titles) {
+            return titles;
+        }
+
+        public boolean isPublic(String owner) {
+            return owner.equals("public");
+        }
+    }
+}
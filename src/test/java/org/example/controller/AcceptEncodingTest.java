@@ -0,0 +1,31 @@
+package org.example.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AcceptEncodingTest {
+
+    @Test
+    void gzipShouldBeAcceptedWithNonZeroQuality() {
+        //expect
+        assertTrue(AcceptEncoding.acceptsGzip("gzip"));
+        assertTrue(AcceptEncoding.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(AcceptEncoding.acceptsGzip("x-gzip"));
+        assertTrue(AcceptEncoding.acceptsGzip("br;q=1.0, *;q=0.1"));
+    }
+
+    @Test
+    void gzipShouldNotBeAcceptedWithZeroQualityOrWhenMissing() {
+        //expect
+        assertFalse(AcceptEncoding.acceptsGzip(null));
+        assertFalse(AcceptEncoding.acceptsGzip(""));
+        assertFalse(AcceptEncoding.acceptsGzip("gzip;q=0"));
+        assertFalse(AcceptEncoding.acceptsGzip("gzip; q=0.000, *"));
+        assertFalse(AcceptEncoding.acceptsGzip("*;q=1, gzip;q=0"));
+        assertFalse(AcceptEncoding.acceptsGzip("deflate, br"));
+        assertFalse(AcceptEncoding.acceptsGzip("*;q=0"));
+        assertFalse(AcceptEncoding.acceptsGzip("gzip;q=high"));
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MyControllerTest {
+
+    @Test
+    void exportShouldVaryByAcceptEncoding() {
+        //given
+        var controller = new MyController(null, null, null, new ObjectMapper(), 500, 65536, 1000);
+
+        //when
+        var gzipped = controller.exportAll("gzip");
+        var plain = controller.exportAll("gzip;q=0");
+
+        //then
+        assertEquals(List.of("gzip"), gzipped.getHeaders().get(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), gzipped.getHeaders().get(HttpHeaders.VARY));
+        assertNull(plain.getHeaders().get(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), plain.getHeaders().get(HttpHeaders.VARY));
+    }
+}
@@ -0,0 +1,170 @@
+package org.example.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.model.MyEntity;
+import org.example.repository.KeysetPageRequest;
+import org.example.repository.LruEntityCache;
+import org.example.repository.MyRepository;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Routes {@link MyRepository} reads through Hibernate and {@link JpaTransactionManager}, set up like
+ * {@code DataSourceConfig} and {@code MyConfig}, over pooled primary and replica databases.
+ */
+class JpaRoutingTest {
+
+    private RoutingDataSource routing;
+    private EntityManagerFactory entityManagerFactory;
+    private JpaTransactionManager transactionManager;
+    private MyRepository repository;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        ReadYourWrites.unpin();
+        entityManagerFactory.close();
+        routing.close();
+    }
+
+    @Test
+    void readOnlyTransactionsShouldReadFromReplica() {
+        //given
+        start(Duration.ZERO);
+
+        //when
+        var names = transaction(true).execute(status -> names(repository));
+
+        //then
+        assertEquals(List.of("replica"), names);
+    }
+
+    @Test
+    void readWriteTransactionsShouldReadFromPrimary() {
+        //given
+        start(Duration.ZERO);
+
+        //when
+        var names = transaction(false).execute(status -> names(repository));
+
+        //then
+        assertEquals(List.of("primary"), names);
+    }
+
+    @Test
+    void readOnlyTransactionsShouldReadFromPrimaryAfterWrite() {
+        //given
+        start(Duration.ofMinutes(1));
+        transaction(false).executeWithoutResult(status -> repository.save(entity("written")));
+
+        //when
+        var names = transaction(true).execute(status -> names(repository));
+
+        //then
+        assertEquals(List.of("primary", "written"), names);
+    }
+
+    @Test
+    void streamsShouldReadFromReplica() {
+        //given
+        start(Duration.ZERO);
+
+        //when
+        List<String> names;
+        try (var entities = repository.streamAll(1)) {
+            names = entities.map(MyEntity::getName).collect(Collectors.toList());
+        }
+
+        //then
+        assertEquals(List.of("replica"), names);
+        assertEquals(0, routing.stats().get("replica-1").getActiveConnections());
+    }
+
+    @Test
+    void streamsShouldRejectNonPositiveFetchSize() {
+        //given
+        start(Duration.ZERO);
+
+        //expect
+        assertThrows(IllegalArgumentException.class, () -> repository.streamAll(0));
+    }
+
+    private void start(Duration readYourWritesWindow) {
+        var replica = pool("replica");
+        createSchema(replica).close();
+        routing = new RoutingDataSource(new MeteredDataSource("primary", pool("primary")),
+                List.of(new MeteredDataSource("replica-1", replica)), ReplicaSelection.ROUND_ROBIN,
+                readYourWritesWindow);
+        var dataSource = new LazyConnectionDataSourceProxy(routing);
+        entityManagerFactory = createSchema(dataSource);
+        transactionManager = new JpaTransactionManager(entityManagerFactory);
+        transactionManager.setDataSource(dataSource);
+        transactionManager.setJpaDialect(new HibernateJpaDialect());
+        repository = new MyRepository(entityManagerFactory, transactionManager,
+                new LruEntityCache<>(10, Duration.ofMinutes(1), MyEntity::new), 10);
+        ReadYourWrites.unpin();
+    }
+
+    /**
+     * Creates the schema and one entity named after the pool; without a transaction the routing data source
+     * uses the primary.
+     */
+    private static EntityManagerFactory createSchema(DataSource dataSource) {
+        var configuration = new Configuration();
+        configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
+        var sessionFactory = configuration
+                .addAnnotatedClass(MyEntity.class)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .buildSessionFactory();
+        var name = dataSource instanceof HikariDataSource ? ((HikariDataSource) dataSource).getPoolName() : "primary";
+        var entityManager = sessionFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.persist(entity(name));
+        entityManager.getTransaction().commit();
+        entityManager.close();
+        return sessionFactory;
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate;
+    }
+
+    private static List<String> names(MyRepository repository) {
+        return repository.findPage(KeysetPageRequest.first(KeysetPageRequest.SortKey.ID, 10)).stream()
+                .map(MyEntity::getName)
+                .collect(Collectors.toList());
+    }
+
+    private static HikariDataSource pool(String name) {
+        var pool = new HikariConfig();
+        pool.setPoolName(name);
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        pool.setMaximumPoolSize(2);
+        return new HikariDataSource(pool);
+    }
+
+    private static MyEntity entity(String name) {
+        var entity = new MyEntity();
+        entity.setName(name);
+        return entity;
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RoutingDataSourceTest {
+
+    private static final String SELECT_ORIGIN = "select name from origin";
+
+    private EmbeddedDatabase primaryDatabase;
+    private EmbeddedDatabase replicaDatabase;
+
+    @BeforeEach
+    void setUp() {
+        primaryDatabase = database("primary");
+        replicaDatabase = database("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.unpin();
+        primaryDatabase.shutdown();
+        replicaDatabase.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionsShouldUseReplica() {
+        //given
+        var routing = routingDataSource(Duration.ZERO);
+        var dataSource = new LazyConnectionDataSourceProxy(routing);
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+
+        //when
+        var origin = transaction(dataSource, true)
+                .execute(status -> jdbcTemplate.queryForObject(SELECT_ORIGIN, String.class));
+
+        //then
+        assertEquals("replica", origin);
+    }
+
+    @Test
+    void readWriteTransactionsShouldUsePrimary() {
+        //given
+        var routing = routingDataSource(Duration.ZERO);
+        var dataSource = new LazyConnectionDataSourceProxy(routing);
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+
+        //when
+        var origin = transaction(dataSource, false)
+                .execute(status -> jdbcTemplate.queryForObject(SELECT_ORIGIN, String.class));
+
+        //then
+        assertEquals("primary", origin);
+    }
+
+    @Test
+    void readsShouldStayOnPrimaryAfterWrite() {
+        //given
+        var routing = routingDataSource(Duration.ofMinutes(1));
+        var dataSource = new LazyConnectionDataSourceProxy(routing);
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        transaction(dataSource, false).executeWithoutResult(status ->
+                jdbcTemplate.update("insert into origin (name) values ('written')"));
+
+        //when
+        var rows = transaction(dataSource, true)
+                .execute(status -> jdbcTemplate.queryForList(SELECT_ORIGIN, String.class));
+
+        //then
+        assertEquals(List.of("primary", "written"), rows);
+    }
+
+    @Test
+    void statsShouldCountConnectionsPerTarget() {
+        //given
+        var routing = routingDataSource(Duration.ZERO);
+        var dataSource = new LazyConnectionDataSourceProxy(routing);
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        var primaryConnectionsBefore = routing.stats().get("primary").getAcquiredConnections();
+
+        //when
+        transaction(dataSource, true).execute(status -> jdbcTemplate.queryForObject(SELECT_ORIGIN, String.class));
+        transaction(dataSource, true).execute(status -> jdbcTemplate.queryForObject(SELECT_ORIGIN, String.class));
+        transaction(dataSource, false).execute(status -> jdbcTemplate.queryForObject(SELECT_ORIGIN, String.class));
+
+        //then
+        var stats = routing.stats();
+        assertEquals(2, stats.get("replica-1").getAcquiredConnections());
+        assertEquals(0, stats.get("replica-1").getActiveConnections());
+        assertEquals(primaryConnectionsBefore + 1, stats.get("primary").getAcquiredConnections());
+        assertEquals(0, stats.get("primary").getActiveConnections());
+    }
+
+    private RoutingDataSource routingDataSource(Duration readYourWritesWindow) {
+        return new RoutingDataSource(new MeteredDataSource("primary", primaryDatabase),
+                List.of(new MeteredDataSource("replica-1", replicaDatabase)),
+                ReplicaSelection.ROUND_ROBIN, readYourWritesWindow);
+    }
+
+    private TransactionTemplate transaction(DataSource dataSource, boolean readOnly) {
+        var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate;
+    }
+
+    private EmbeddedDatabase database(String origin) {
+        var database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        var jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table origin (name varchar(20))");
+        jdbcTemplate.update("insert into origin (name) values (?)", origin);
+        return database;
+    }
+}
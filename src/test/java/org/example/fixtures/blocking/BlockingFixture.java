@@ -0,0 +1,54 @@
+package org.example.fixtures.blocking;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Call graph for {@code BlockingCallsTest}. {@link #endpoint} reaches {@link #helper} through several detours close
+ * to the depth limit and once directly, with enough depth left to find the sleep in {@link #sleeper}. Calls are not
+ * visited in source order, so the detours make it likely that {@link #helper} is first reached near the limit.
+ */
+class BlockingFixture {
+
+    void endpoint(ResultSet resultSet) throws SQLException {
+        firstDetour();
+        secondDetour();
+        thirdDetour();
+        helper();
+        readRow(resultSet);
+        parseTimestamp();
+    }
+
+    private void firstDetour() {
+        helper();
+    }
+
+    private void secondDetour() {
+        helper();
+    }
+
+    private void thirdDetour() {
+        helper();
+    }
+
+    private void helper() {
+        sleeper();
+    }
+
+    private void sleeper() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void readRow(ResultSet resultSet) throws SQLException {
+        resultSet.next();
+    }
+
+    private Timestamp parseTimestamp() {
+        return Timestamp.valueOf("2021-01-01 00:00:00");
+    }
+}
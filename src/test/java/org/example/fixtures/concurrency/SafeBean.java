@@ -0,0 +1,34 @@
+package org.example.fixtures.concurrency;
+
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Singleton bean following every rule of {@code ConcurrencyRulesTest}.
+ */
+@Service
+class SafeBean {
+
+    private final ThreadLocal<String> threadLocal = ThreadLocal.withInitial(() -> "initial");
+    private final Map<String, String> map = new ConcurrentHashMap<>();
+    private final List<String> values;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    SafeBean(List<String> values) {
+        this.values = List.copyOf(values);
+    }
+
+    void useThreadLocal() {
+        try {
+            threadLocal.set(values.toString());
+            map.put(threadLocal.get(), "value");
+            counter.incrementAndGet();
+        } finally {
+            threadLocal.remove();
+        }
+    }
+}
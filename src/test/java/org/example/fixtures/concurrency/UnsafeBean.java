@@ -0,0 +1,48 @@
+package org.example.fixtures.concurrency;
+
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+
+/**
+ * Singleton bean breaking every rule of {@code ConcurrencyRulesTest}, each in a member whose name starts with
+ * {@code unsafe}.
+ */
+@Service
+class UnsafeBean {
+
+    private static final ThreadLocal<String> unsafeThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<String> removedThreadLocal = new ThreadLocal<>();
+
+    private final Map<String, String> unsafeMap = new HashMap<>();
+    private final ArrayList<String> unsafeList;
+    private final String[] unsafeArray = new String[1];
+    private final List<String> unsafeSynchronizedList = Collections.synchronizedList(List.of());
+    private final Vector<String> unsafeVector = new Vector<>();
+    private int counter;
+
+    UnsafeBean(List<String> values) {
+        this.unsafeList = new ArrayList<>(values);
+    }
+
+    synchronized void unsafeSynchronizedMethod() {
+        counter++;
+    }
+
+    void unsafeSynchronizedBlock() {
+        synchronized (unsafeMap) {
+            unsafeMap.clear();
+        }
+    }
+
+    void useThreadLocals() {
+        unsafeThreadLocal.set("leaked");
+        removedThreadLocal.set("removed");
+        removedThreadLocal.remove();
+    }
+}
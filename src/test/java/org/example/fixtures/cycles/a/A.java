@@ -0,0 +1,11 @@
+package org.example.fixtures.cycles.a;
+
+import org.example.fixtures.cycles.b.B;
+
+/**
+ * Part of the cycle {@code a -> b -> c -> a}.
+ */
+public class A {
+
+    private B next;
+}
@@ -0,0 +1,11 @@
+package org.example.fixtures.cycles.b;
+
+import org.example.fixtures.cycles.c.C;
+
+/**
+ * Part of the cycle {@code a -> b -> c -> a}.
+ */
+public class B {
+
+    private C next;
+}
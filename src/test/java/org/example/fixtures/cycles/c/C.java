@@ -0,0 +1,11 @@
+package org.example.fixtures.cycles.c;
+
+import org.example.fixtures.cycles.a.A;
+
+/**
+ * Part of the cycle {@code a -> b -> c -> a}.
+ */
+public class C {
+
+    private A next;
+}
@@ -0,0 +1,11 @@
+package org.example.fixtures.cycles.d;
+
+import org.example.fixtures.cycles.a.A;
+
+/**
+ * Depends on the cycle {@code a -> b -> c -> a} without being part of it.
+ */
+public class D {
+
+    private A next;
+}
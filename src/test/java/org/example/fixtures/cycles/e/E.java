@@ -0,0 +1,11 @@
+package org.example.fixtures.cycles.e;
+
+import org.example.fixtures.cycles.f.F;
+
+/**
+ * Part of the cycle {@code e -> f -> e}.
+ */
+public class E {
+
+    private F next;
+}
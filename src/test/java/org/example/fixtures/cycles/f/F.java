@@ -0,0 +1,11 @@
+package org.example.fixtures.cycles.f;
+
+import org.example.fixtures.cycles.e.E;
+
+/**
+ * Part of the cycle {@code e -> f -> e}.
+ */
+public class F {
+
+    private E next;
+}
@@ -0,0 +1,96 @@
+package org.example.fixtures.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Logging calls for {@code LoggingCallsTest}. Methods named {@code violating...} break exactly one rule,
+ * all other methods log the way the rules expect.
+ */
+class LoggingFixture {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingFixture.class);
+
+    void violatingConcatenation(String name) {
+        log.info("Hello " + name);
+    }
+
+    void violatingFormat(String name) {
+        log.info(String.format("Hello %s", name));
+    }
+
+    void placeholder(String name) {
+        log.info("Hello {}", name);
+    }
+
+    void violatingUnguardedDebug(List<String> names) {
+        log.debug("Found {} names", names.size());
+    }
+
+    void violatingUnguardedVarargs(List<String> names, String first) {
+        log.trace("Found {} names, {} distinct, first {}", names.size(), names.stream().distinct().count(), first);
+    }
+
+    void plainDebugArgument(String name) {
+        log.debug("Hello {}", name);
+    }
+
+    void getterArgument(Document document) {
+        log.debug("Saved {}, archived {}", document.getId(), document.isArchived());
+    }
+
+    void violatingUnguardedGetterOfComputedValue(List<String> names) {
+        log.debug("Found any {}", names.stream().findAny().isPresent());
+    }
+
+    void guardedDebug(List<String> names) {
+        if (log.isDebugEnabled()) {
+            log.debug("Found {} names", names.size());
+        }
+    }
+
+    void earlyReturnGuard(List<String> names) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        log.debug("Found {} names", names.size());
+    }
+
+    void earlyThrowGuard(List<String> names) {
+        if (!log.isTraceEnabled()) {
+            throw new IllegalStateException("Tracing is disabled");
+        }
+        log.trace("Found {} names", names.size());
+    }
+
+    void violatingLoop(List<String> names) {
+        for (String name : names) {
+            log.info("Hello {}", name);
+        }
+    }
+
+    void callback(List<String> names) {
+        names.forEach(name -> log.info("Hello {}", name));
+    }
+
+    static class Document {
+
+        private final long id;
+        private final boolean archived;
+
+        Document(long id, boolean archived) {
+            this.id = id;
+            this.archived = archived;
+        }
+
+        long getId() {
+            return id;
+        }
+
+        boolean isArchived() {
+            return archived;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesShouldHaveTheirOwnBuckets() {
+        //expect
+        for (int value = 0; value < 32; value++) {
+            assertEquals(value, LatencyHistogram.bucketOf(value));
+            assertEquals(value, LatencyHistogram.highestValueOf(value));
+        }
+    }
+
+    @Test
+    void bucketsShouldBeContiguousAndWithinThreePercent() {
+        //given
+        var lastBucket = LatencyHistogram.bucketOf(LatencyHistogram.MAX_TRACKABLE_NANOS);
+
+        //expect
+        assertEquals(LatencyHistogram.MAX_TRACKABLE_NANOS, LatencyHistogram.highestValueOf(lastBucket));
+        for (int bucket = 0; bucket < lastBucket; bucket++) {
+            var highest = LatencyHistogram.highestValueOf(bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(highest));
+            assertEquals(bucket + 1, LatencyHistogram.bucketOf(highest + 1));
+            var lowest = bucket == 0 ? 0 : LatencyHistogram.highestValueOf(bucket - 1) + 1;
+            assertTrue(highest - lowest <= lowest / 32, "bucket " + bucket + " spans " + lowest + ".." + highest);
+        }
+    }
+
+    @Test
+    void quantilesShouldBeBucketUpperBoundsCappedByMax() {
+        //given
+        var counts = new long[LatencyHistogram.bucketOf(2000) + 1];
+        for (long value = 1; value <= 1000; value++) {
+            counts[LatencyHistogram.bucketOf(value)]++;
+        }
+
+        //expect
+        assertEquals(0, LatencyHistogram.valueAtQuantile(new long[counts.length], 0, 0, 0.5));
+        assertEquals(LatencyHistogram.highestValueOf(LatencyHistogram.bucketOf(500)),
+                LatencyHistogram.valueAtQuantile(counts, 1000, 1000, 0.5));
+        assertEquals(LatencyHistogram.highestValueOf(LatencyHistogram.bucketOf(990)),
+                LatencyHistogram.valueAtQuantile(counts, 1000, 1000, 0.99));
+        assertEquals(1000, LatencyHistogram.valueAtQuantile(counts, 1000, 1000, 0.999));
+        assertEquals(1, LatencyHistogram.valueAtQuantile(counts, 1000, 1000, 0.0));
+    }
+
+    @Test
+    void snapshotShouldSummariseAndResetRecordedValues() {
+        //given
+        var histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        //when
+        var snapshot = histogram.snapshotAndReset("method");
+        var empty = histogram.snapshotAndReset("method");
+
+        //then
+        assertEquals(1002, snapshot.getCount());
+        assertEquals((500_500 + LatencyHistogram.MAX_TRACKABLE_NANOS) / 1002, snapshot.getMeanNanos());
+        assertEquals(LatencyHistogram.highestValueOf(LatencyHistogram.bucketOf(501)), snapshot.getP50Nanos());
+        assertEquals(LatencyHistogram.MAX_TRACKABLE_NANOS, snapshot.getMaxNanos());
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.getMaxNanos());
+    }
+
+    @Test
+    void reusedIntervalsShouldStartEmpty() {
+        //given
+        var histogram = new LatencyHistogram();
+        histogram.record(1000);
+        histogram.snapshotAndReset("method");
+        histogram.record(10);
+        histogram.snapshotAndReset("method");
+
+        //when
+        histogram.record(7);
+        var snapshot = histogram.snapshotAndReset("method");
+
+        //then
+        assertEquals(1, snapshot.getCount());
+        assertEquals(7, snapshot.getMeanNanos());
+        assertEquals(7, snapshot.getP999Nanos());
+        assertEquals(7, snapshot.getMaxNanos());
+    }
+
+    @Test
+    void concurrentRecordingsShouldBeCountedExactlyOnce() throws InterruptedException {
+        //given
+        var histogram = new LatencyHistogram();
+        var threads = 4;
+        var recordsPerThread = 100_000;
+        var start = new CountDownLatch(1);
+        var done = new CountDownLatch(threads);
+        var recorders = new ArrayList<Thread>();
+        for (int i = 0; i < threads; i++) {
+            recorders.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int value = 1; value <= recordsPerThread; value++) {
+                    histogram.record(value);
+                }
+                done.countDown();
+            }));
+        }
+        recorders.forEach(Thread::start);
+
+        //when
+        var counted = new AtomicLong();
+        start.countDown();
+        while (done.getCount() > 0) {
+            counted.addAndGet(histogram.snapshotAndReset("method").getCount());
+        }
+        counted.addAndGet(histogram.snapshotAndReset("method").getCount());
+
+        //then
+        assertEquals((long) threads * recordsPerThread, counted.get());
+    }
+}
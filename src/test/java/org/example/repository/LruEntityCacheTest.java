@@ -0,0 +1,106 @@
+package org.example.repository;
+
+import org.example.model.MyEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LruEntityCacheTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(1);
+
+    @Test
+    void hitsShouldReturnCopies() {
+        //given
+        var cache = new LruEntityCache<Long, MyEntity>(10, TIME_TO_LIVE, MyEntity::new);
+        var loaded = cache.findOrLoad(1L, key -> Optional.of(entity("loaded"))).orElseThrow();
+
+        //when
+        loaded.setName("changed by loader");
+        var first = cache.findOrLoad(1L, key -> Optional.empty()).orElseThrow();
+        first.setName("changed by first reader");
+        var second = cache.findOrLoad(1L, key -> Optional.empty()).orElseThrow();
+
+        //then
+        assertNotSame(first, second);
+        assertEquals("loaded", second.getName());
+        assertEquals(2, cache.stats().getHits());
+    }
+
+    @Test
+    void batchLoadShouldOnlyLoadMissingKeys() {
+        //given
+        var cache = new LruEntityCache<Long, MyEntity>(10, TIME_TO_LIVE, MyEntity::new);
+        cache.findOrLoad(1L, key -> Optional.of(entity("cached")));
+        var loadedKeys = new ArrayList<Long>();
+
+        //when
+        var values = cache.findAllOrLoad(List.of(1L, 2L, 3L), keys -> {
+            loadedKeys.addAll(keys);
+            return Map.of(2L, entity("loaded"));
+        });
+
+        //then
+        assertEquals(List.of(2L, 3L), loadedKeys);
+        assertEquals(Set.of(1L, 2L), values.keySet());
+        assertEquals("loaded", cache.findCached(2L).orElseThrow().getName());
+        assertTrue(cache.findCached(3L).isEmpty());
+    }
+
+    @Test
+    void invalidationDuringLoadShouldOnlyDiscardLoadOfSameKey() {
+        //given
+        var cache = new LruEntityCache<Long, MyEntity>(10, TIME_TO_LIVE, MyEntity::new);
+        var loads = new AtomicInteger();
+
+        //when
+        cache.findOrLoad(1L, key -> {
+            cache.invalidate(1L);
+            return Optional.of(entity("stale"));
+        });
+        cache.findOrLoad(2L, key -> {
+            cache.invalidate(3L);
+            return Optional.of(entity("fresh"));
+        });
+        cache.findOrLoad(1L, key -> Optional.of(entity("reloaded " + loads.incrementAndGet())));
+        cache.findOrLoad(2L, key -> Optional.of(entity("reloaded " + loads.incrementAndGet())));
+
+        //then
+        assertEquals(1, loads.get());
+        assertEquals("fresh", cache.findOrLoad(2L, key -> Optional.empty()).orElseThrow().getName());
+    }
+
+    @Test
+    void evictionShouldKeepRecentlyReadEntries() {
+        //given
+        var cache = new LruEntityCache<Long, MyEntity>(10, TIME_TO_LIVE, MyEntity::new);
+        cache.findOrLoad(0L, key -> Optional.of(entity("read often")));
+
+        //when
+        for (long key = 1; key <= 30; key++) {
+            cache.findOrLoad(0L, id -> Optional.empty());
+            cache.findOrLoad(key, id -> Optional.of(entity("entity " + id)));
+        }
+
+        //then
+        assertTrue(cache.stats().getSize() <= 10);
+        assertTrue(cache.stats().getEvictions() >= 20);
+        assertEquals("read often", cache.findOrLoad(0L, key -> Optional.empty()).orElseThrow().getName());
+    }
+
+    private static MyEntity entity(String name) {
+        var entity = new MyEntity();
+        entity.setName(name);
+        return entity;
+    }
+}
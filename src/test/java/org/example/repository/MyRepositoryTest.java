@@ -0,0 +1,95 @@
+package org.example.repository;
+
+import org.example.model.MyEntity;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs {@link MyRepository} over an embedded database with {@link JpaTransactionManager}, as configured in
+ * {@code MyConfig}.
+ */
+class MyRepositoryTest {
+
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate transaction;
+    private MyRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        var configuration = new Configuration();
+        configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
+        entityManagerFactory = configuration
+                .addAnnotatedClass(MyEntity.class)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .buildSessionFactory();
+        var transactionManager = new JpaTransactionManager(entityManagerFactory);
+        transaction = new TransactionTemplate(transactionManager);
+        repository = new MyRepository(entityManagerFactory, transactionManager,
+                new LruEntityCache<>(10, Duration.ofMinutes(1), MyEntity::new), 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    @Test
+    void readsBeforeCommitShouldNotStayCached() {
+        //given
+        var saved = repository.save(entity("old"));
+
+        //when
+        transaction.executeWithoutResult(status -> {
+            saved.setName("new");
+            repository.save(saved);
+            CompletableFuture.runAsync(() -> repository.findById(saved.getId())).join();
+        });
+
+        //then
+        assertEquals("new", repository.findById(saved.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void saveAllShouldRejectCallersTransaction() {
+        //expect
+        transaction.executeWithoutResult(status -> assertThrows(IllegalStateException.class,
+                () -> repository.saveAll(List.of(entity("joined")))));
+    }
+
+    @Test
+    void failuresWithoutMessageShouldNotBeReportedAsSaved() {
+        //when
+        var result = WriteResult.failed(new PersistenceException());
+
+        //then
+        assertFalse(result.isSuccessful());
+        assertEquals(PersistenceException.class.getName(), result.getError());
+    }
+
+    private static MyEntity entity(String name) {
+        var entity = new MyEntity();
+        entity.setName(name);
+        return entity;
+    }
+}
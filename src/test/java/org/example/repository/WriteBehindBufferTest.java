@@ -0,0 +1,177 @@
+package org.example.repository;
+
+import org.example.model.MyEntity;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindBufferTest {
+
+    private static final Duration NEVER = Duration.ofMinutes(10);
+
+    @Test
+    void writesPastBatchSizeShouldNotFlushTheNextBatchEarly() throws InterruptedException {
+        //given
+        var repository = new BlockingRepository();
+        try (var buffer = new WriteBehindBuffer(repository, 2, 10, NEVER)) {
+            writeAll(buffer, 2);
+            repository.awaitSaveAll();
+            writeAll(buffer, 4);
+            repository.allowSaveAll();
+            repository.awaitSaveAll();
+
+            //when
+            buffer.write(entity("waits for the next batch"));
+            repository.allowSaveAll();
+            Thread.sleep(200);
+
+            //then
+            assertEquals(List.of(2, 4), repository.batchSizes);
+            repository.allowSaveAll();
+        }
+    }
+
+    @Test
+    void writesShouldBlockWhileBufferIsFull() throws Exception {
+        //given
+        var repository = new BlockingRepository();
+        try (var buffer = new WriteBehindBuffer(repository, 2, 4, NEVER)) {
+            writeAll(buffer, 2);
+            repository.awaitSaveAll();
+            writeAll(buffer, 2);
+
+            //when
+            var blockedWrite = CompletableFuture.supplyAsync(() -> buffer.write(entity("over capacity")));
+            Thread.sleep(200);
+            var blockedWhileFull = !blockedWrite.isDone();
+            repository.allowSaveAll();
+
+            //then
+            assertTrue(blockedWhileFull);
+            assertFalse(blockedWrite.get(10, TimeUnit.SECONDS).isCompletedExceptionally());
+            repository.allowSaveAll();
+            repository.allowSaveAll();
+        }
+    }
+
+    @Test
+    void capacityShouldHoldAtLeastOneBatch() {
+        //expect
+        assertThrows(IllegalArgumentException.class,
+                () -> new WriteBehindBuffer(new BlockingRepository(), 10, 9, NEVER));
+    }
+
+    @Test
+    void writesAfterCloseShouldFail() {
+        //given
+        var buffer = new WriteBehindBuffer(new BlockingRepository(), 2, 10, NEVER);
+        buffer.close();
+
+        //when
+        var result = buffer.write(entity("late"));
+
+        //then
+        var failure = assertThrows(CompletionException.class, result::join);
+        assertTrue(failure.getCause() instanceof IllegalStateException, failure.getCause().toString());
+    }
+
+    @Test
+    void failedBatchesShouldLeaveNewEntitiesTransient() {
+        //given
+        var repository = h2Repository();
+        var valid = entity("valid");
+        var invalid = entity(null);
+
+        //when
+        try (var buffer = new WriteBehindBuffer(repository, 2, 10, NEVER)) {
+            var validResult = buffer.write(valid);
+            var invalidResult = buffer.write(invalid);
+            assertFalse(validResult.join().isSuccessful());
+            assertFalse(invalidResult.join().isSuccessful());
+        }
+
+        //then
+        assertNull(valid.getId());
+        var retried = repository.saveAll(List.of(valid));
+        assertTrue(retried.get(0).isSuccessful(), retried.get(0).toString());
+        assertEquals(retried.get(0).getId(), valid.getId());
+    }
+
+    private static void writeAll(WriteBehindBuffer buffer, int count) {
+        for (int i = 0; i < count; i++) {
+            buffer.write(entity("entity " + i));
+        }
+    }
+
+    private static MyEntity entity(String name) {
+        var entity = new MyEntity();
+        entity.setName(name);
+        return entity;
+    }
+
+    private static MyRepository h2Repository() {
+        var dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        var configuration = new Configuration();
+        configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
+        var entityManagerFactory = configuration
+                .addAnnotatedClass(MyEntity.class)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .buildSessionFactory();
+        return new MyRepository(entityManagerFactory, null,
+                new LruEntityCache<>(10, Duration.ofMinutes(1), MyEntity::new), 10);
+    }
+
+    /**
+     * Records batch sizes and blocks every save until the test allows it.
+     */
+    private static final class BlockingRepository extends MyRepository {
+
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final Semaphore entered = new Semaphore(0);
+        private final Semaphore allowed = new Semaphore(0);
+
+        private BlockingRepository() {
+            super(null, null, null, 10);
+        }
+
+        @Override
+        public BatchWriteResult saveAll(Collection<MyEntity> entities) {
+            batchSizes.add(entities.size());
+            entered.release();
+            allowed.acquireUninterruptibly();
+            var results = new WriteResult[entities.size()];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = WriteResult.saved((long) i);
+            }
+            return new BatchWriteResult(results);
+        }
+
+        private void awaitSaveAll() throws InterruptedException {
+            assertTrue(entered.tryAcquire(10, TimeUnit.SECONDS), "saveAll was not called");
+        }
+
+        private void allowSaveAll() {
+            allowed.release();
+        }
+    }
+}
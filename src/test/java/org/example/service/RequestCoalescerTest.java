@@ -0,0 +1,89 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescerTest {
+
+    @Test
+    void fullBatchShouldNotShortenWindowOfNextBatch() throws Exception {
+        //given
+        var batches = new CopyOnWriteArrayList<Set<Long>>();
+        var timer = new ManualTimer();
+        try (var coalescer = new RequestCoalescer<>(recordingLoader(batches), 2, Duration.ofMillis(300), Runnable::run,
+                timer)) {
+            coalescer.load(1L);
+            coalescer.load(2L);
+            var third = coalescer.load(3L);
+
+            //when
+            timer.fire(0);
+
+            //then
+            assertFalse(third.isDone());
+            timer.fire(1);
+            assertEquals(3L, third.get().orElseThrow());
+            assertEquals(List.of(Set.of(1L, 2L), Set.of(3L)), batches);
+        }
+    }
+
+    @Test
+    void loadAfterCloseShouldFail() {
+        //given
+        var coalescer = new RequestCoalescer<>(recordingLoader(new CopyOnWriteArrayList<>()), 10,
+                Duration.ofMillis(1), Runnable::run);
+        coalescer.close();
+
+        //when
+        var result = coalescer.load(1L);
+
+        //then
+        var exception = assertThrows(ExecutionException.class, result::get);
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+    }
+
+    /**
+     * Records scheduled windows and runs them only when the test fires them.
+     */
+    private static final class ManualTimer extends ScheduledThreadPoolExecutor {
+
+        private final List<Runnable> windows = new CopyOnWriteArrayList<>();
+
+        private ManualTimer() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            windows.add(command);
+            return null;
+        }
+
+        private void fire(int window) {
+            windows.get(window).run();
+        }
+    }
+
+    private static Function<Set<Long>, Map<Long, Long>> recordingLoader(List<Set<Long>> batches) {
+        return keys -> {
+            batches.add(Set.copyOf(keys));
+            return keys.stream().collect(Collectors.toMap(key -> key, key -> key));
+        };
+    }
+}